@@ -0,0 +1,79 @@
+package org.example.apigateway.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.example.apigateway.security.TokenValidation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Remote token validation against AuthService's /api/auth/validate endpoints.
+ * Tokens travel in the Authorization header or request body, never in the URI,
+ * so they do not end up in access logs. Calls run behind the auth-service bulkhead
+ * and circuit breaker; failures that mean "AuthService could not answer" surface as
+ * {@link AuthServiceUnavailableException}.
+ */
+@Component
+public class AuthServiceClient {
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public AuthServiceClient(@Qualifier("authWebClient") WebClient webClient,
+                             CircuitBreaker authCircuitBreaker,
+                             Bulkhead authBulkhead) {
+        this.webClient = webClient;
+        this.circuitBreaker = authCircuitBreaker;
+        this.bulkhead = authBulkhead;
+    }
+
+    public Mono<TokenValidation> validate(String token) {
+        return webClient.get()
+                .uri("/api/auth/validate")
+                .headers(headers -> headers.setBearerAuth(token))
+                .retrieve()
+                .bodyToMono(TokenValidation.class)
+                .defaultIfEmpty(TokenValidation.invalid())
+                .transformDeferred(this::guarded);
+    }
+
+    // One round trip for many tokens; results come back in request order
+    public Mono<List<TokenValidation>> validateBatch(List<String> tokens) {
+        return webClient.post()
+                .uri("/api/auth/validate/batch")
+                .bodyValue(Map.of("tokens", tokens))
+                .retrieve()
+                .bodyToFlux(TokenValidation.class)
+                .collectList()
+                .transformDeferred(this::guarded);
+    }
+
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(AuthServiceClient::isUnavailable,
+                        e -> new AuthServiceUnavailableException("AuthService unavailable: " + e.getMessage(), e));
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        return e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || (e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.apigateway.client;
+
+/**
+ * AuthService could not answer: circuit open, bulkhead full, or the call failed
+ * at the transport level. Distinct from a token being rejected.
+ */
+public class AuthServiceUnavailableException extends RuntimeException {
+    public AuthServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.apigateway.client;
+
+import org.example.apigateway.security.TokenValidation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent remote validations into calls to /api/auth/validate/batch.
+ * A validation waits at most {@code auth.batch.window} for others to join it; a
+ * batch is sent early once {@code auth.batch.max-size} tokens are waiting.
+ * Duplicate tokens in the same window are sent once.
+ */
+@Component
+public class AuthValidationBatcher {
+
+    private final AuthServiceClient authServiceClient;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Queue<PendingValidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public AuthValidationBatcher(AuthServiceClient authServiceClient,
+                                 @Value("${auth.batch.window:2ms}") Duration window,
+                                 @Value("${auth.batch.max-size:64}") int maxBatchSize) {
+        this.authServiceClient = authServiceClient;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Mono<TokenValidation> validate(String token) {
+        return Mono.defer(() -> {
+            PendingValidation validation = new PendingValidation(token, Sinks.one());
+            pending.add(validation);
+
+            if (pendingCount.incrementAndGet() >= maxBatchSize) {
+                flush();
+            } else {
+                scheduleFlush();
+            }
+            return validation.result().asMono();
+        });
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<PendingValidation> batch = new ArrayList<>();
+        PendingValidation next;
+        while (batch.size() < maxBatchSize && (next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+        }
+        if (!pending.isEmpty()) {
+            scheduleFlush();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Sinks.One<TokenValidation>>> byToken = new LinkedHashMap<>();
+        for (PendingValidation validation : batch) {
+            byToken.computeIfAbsent(validation.token(), t -> new ArrayList<>()).add(validation.result());
+        }
+        List<String> tokens = new ArrayList<>(byToken.keySet());
+
+        authServiceClient.validateBatch(tokens).subscribe(
+                results -> {
+                    for (int i = 0; i < tokens.size(); i++) {
+                        TokenValidation result = i < results.size() ? results.get(i) : TokenValidation.invalid();
+                        byToken.get(tokens.get(i)).forEach(sink -> sink.tryEmitValue(result));
+                    }
+                },
+                error -> byToken.values().forEach(sinks -> sinks.forEach(sink -> sink.tryEmitError(error))));
+    }
+
+    private record PendingValidation(String token, Sinks.One<TokenValidation> result) {
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.apigateway.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Dedicated connection pool and WebClient for calls to AuthService, so token
+ * validation never queues behind proxied traffic in the shared pool.
+ * Pool metrics are published as reactor.netty.connection.provider.* with name=auth-service
+ * (pending.connections.time shows how long callers wait to acquire a connection).
+ */
+@Configuration
+public class AuthClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authConnectionProvider(
+            @Value("${auth.client.pool.max-connections:50}") int maxConnections,
+            @Value("${auth.client.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${auth.client.pool.pending-acquire-timeout:500ms}") Duration pendingAcquireTimeout,
+            @Value("${auth.client.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${auth.client.pool.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("auth-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient authWebClient(WebClient.Builder webClientBuilder,
+                                   ConnectionProvider authConnectionProvider,
+                                   @Value("${auth.service.url}") String authServiceUrl,
+                                   @Value("${auth.client.connect-timeout:1s}") Duration connectTimeout,
+                                   @Value("${auth.client.response-timeout:2s}") Duration responseTimeout,
+                                   @Value("${auth.client.http2:true}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(authConnectionProvider)
+                .protocol(http2
+                        ? new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2C}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout);
+
+        return webClientBuilder.clone()
+                .baseUrl(authServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
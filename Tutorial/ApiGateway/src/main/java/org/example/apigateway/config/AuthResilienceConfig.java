@@ -0,0 +1,84 @@
+package org.example.apigateway.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead for the gateway -> AuthService dependency.
+ * The breaker opens on a high error rate or a high share of slow calls; while
+ * open, validation fails immediately instead of waiting for timeouts.
+ * State is published as resilience4j.circuitbreaker.* (name=auth-service) and
+ * every transition increments auth.circuitbreaker.transitions{from,to}.
+ */
+@Configuration
+@Slf4j
+public class AuthResilienceConfig {
+
+    public static final String AUTH_SERVICE = "auth-service";
+
+    @Bean
+    public CircuitBreaker authCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${auth.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${auth.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${auth.circuit-breaker.slow-call-duration-threshold:500ms}") Duration slowCallDurationThreshold,
+            @Value("${auth.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${auth.circuit-breaker.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${auth.circuit-breaker.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState,
+            @Value("${auth.circuit-breaker.permitted-calls-in-half-open-state:5}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead is load shedding, not a sign that AuthService is failing
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(AUTH_SERVICE);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Auth circuit breaker: {}", event.getStateTransition());
+            meterRegistry.counter("auth.circuitbreaker.transitions",
+                    "from", event.getStateTransition().getFromState().name(),
+                    "to", event.getStateTransition().getToState().name()).increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead authBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${auth.bulkhead.max-concurrent-calls:100}") int maxConcurrentCalls,
+            @Value("${auth.bulkhead.max-wait:0ms}") Duration maxWait) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(AUTH_SERVICE);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Which paths need a bearer token. The longest prefix matching whole path
+ * segments wins, so a protected path can carve an exception out of a broader
+ * open one. Segments compare case-insensitively and a trailing slash is
+ * ignored. Paths that match neither list fall back to the route's
+ * "auth-required" metadata (default true).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.auth")
+public class GatewayAuthProperties {
+    private List<String> openPaths = new ArrayList<>();
+    private List<String> protectedPaths = new ArrayList<>();
+}
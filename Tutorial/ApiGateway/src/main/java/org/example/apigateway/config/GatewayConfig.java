@@ -46,7 +46,8 @@ public class GatewayConfig {
         // Expose headers the frontend can read
         config.setExposedHeaders(List.of(
                 "Authorization",
-                "Content-Type"
+                "Content-Type",
+                "X-Next-Cursor"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,58 @@
+package org.example.apigateway.config;
+
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import org.example.apigateway.filter.JwtAuthenticationFilter;
+import org.example.apigateway.ratelimit.InMemoryRateLimitStore;
+import org.example.apigateway.ratelimit.RateLimitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimitStore rateLimitStore(RateLimitProperties properties) {
+        return new InMemoryRateLimitStore(properties.getMaxTrackedKeys(), properties.getIdleExpiry());
+    }
+
+    // Verified subject set by JwtAuthenticationFilter; client address for open paths
+    @Bean
+    @ConditionalOnMissingBean
+    public KeyResolver rateLimitKeyResolver(RateLimitProperties properties) {
+        List<IpSubnetFilterRule> trustedProxies = properties.getTrustedProxies().stream()
+                .map(RateLimitConfig::subnet)
+                .toList();
+        return exchange -> {
+            String user = exchange.getRequest().getHeaders()
+                    .getFirst(JwtAuthenticationFilter.AUTHENTICATED_USER_HEADER);
+            if (user != null) {
+                return Mono.just("user:" + user);
+            }
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            if (remote == null || remote.getAddress() == null) {
+                return Mono.just("anonymous");
+            }
+            // Only nginx's X-Real-IP counts; a client reaching the gateway directly could send any value
+            String realIp = exchange.getRequest().getHeaders().getFirst("X-Real-IP");
+            if (realIp != null && trustedProxies.stream().anyMatch(proxy -> proxy.matches(remote))) {
+                return Mono.just("ip:" + realIp.trim());
+            }
+            return Mono.just("ip:" + remote.getAddress().getHostAddress());
+        };
+    }
+
+    private static IpSubnetFilterRule subnet(String cidr) {
+        int slash = cidr.indexOf('/');
+        String address = slash < 0 ? cidr : cidr.substring(0, slash);
+        int prefix = slash < 0 ? (address.contains(":") ? 128 : 32) : Integer.parseInt(cidr.substring(slash + 1));
+        return new IpSubnetFilterRule(address, prefix, IpFilterRuleType.ACCEPT);
+    }
+}
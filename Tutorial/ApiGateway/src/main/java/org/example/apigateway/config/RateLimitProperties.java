@@ -0,0 +1,34 @@
+package org.example.apigateway.config;
+
+import lombok.Data;
+import org.example.apigateway.ratelimit.RateLimit;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route request limits, applied per client key (JWT subject, or client IP
+ * for anonymous calls). Routes without an entry use defaultLimit; if that is
+ * unset they are not limited.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private RateLimit defaultLimit;
+    private Map<String, RateLimit> routes = new HashMap<>();
+    private long maxTrackedKeys = 100_000;
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    // Proxies (IP or CIDR) whose X-Real-IP header is believed; from anyone else it is ignored
+    private List<String> trustedProxies = new ArrayList<>();
+
+    public RateLimit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+}
@@ -0,0 +1,254 @@
+package org.example.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Short-lived cache for GET responses on selected routes, e.g.
+ * <pre>
+ * filters:
+ *   - name: CoalescingResponseCache
+ *     args:
+ *       ttl: 2s
+ * </pre>
+ * Concurrent misses for the same request are collapsed into one upstream call
+ * whose response is shared (single-flight). Upstream Cache-Control is honoured
+ * (no-store/private/no-cache are not stored, max-age caps the ttl), as is a
+ * request's Cache-Control: no-cache. Cached ETags answer If-None-Match with 304.
+ * Only bodies with a Content-Length up to maxBodySize are buffered and stored;
+ * chunked, NDJSON and event-stream responses stream through uncached.
+ * Outcomes are counted in gateway.response.cache{route,result=hit|miss|coalesced}.
+ */
+@Component
+public class CoalescingResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(?:s-)?max-age=(\\d+)");
+    private static final int HEADER_WEIGHT = 512;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingResponseCacheGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> response.body().length + HEADER_WEIGHT)
+                .expireAfter(Expiry.creating((String key, CachedResponse response) -> response.ttl()))
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Must wrap the response before NettyWriteResponseFilter writes it
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || requestsNoCache(request.getHeaders())) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange);
+            String key = cacheKey(exchange, routeId, config);
+
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                count(routeId, "hit");
+                return write(exchange, cached);
+            }
+
+            Sinks.One<CachedResponse> leader = Sinks.one();
+            Sinks.One<CachedResponse> existing = inFlight.putIfAbsent(key, leader);
+            if (existing != null) {
+                count(routeId, "coalesced");
+                return existing.asMono()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        // An empty result means the leader's response could not be shared; go upstream ourselves
+                        .flatMap(response -> response.isPresent()
+                                ? write(exchange, response.get())
+                                : chain.filter(exchange));
+            }
+
+            count(routeId, "miss");
+            CapturingResponse capturing = new CapturingResponse(exchange.getResponse(), config, key, leader);
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, leader);
+                        leader.tryEmitEmpty();
+                    });
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private static boolean requestsNoCache(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private static String cacheKey(ServerWebExchange exchange, String routeId, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(routeId).append(' ').append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append(" accept=").append(accept);
+        }
+        if (config.isPerUser()) {
+            key.append(" user=").append(request.getHeaders().getFirst(JwtAuthenticationFilter.AUTHENTICATED_USER_HEADER));
+        }
+        return key.toString();
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        String etag = cached.headers().getETag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set("X-Cache", "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.response.cache", "route", routeId, "result", result).increment();
+    }
+
+    /**
+     * Passes the upstream response through while keeping a copy of the body
+     * when it has a Content-Length within maxBodySize and is allowed to be cached.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final Config config;
+        private final String key;
+        private final Sinks.One<CachedResponse> leader;
+
+        private CapturingResponse(ServerHttpResponse delegate, Config config, String key,
+                                  Sinks.One<CachedResponse> leader) {
+            super(delegate);
+            this.config = config;
+            this.key = key;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            // An unset status is written as 200 OK
+            HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+            Duration ttl = cacheableFor(status, getHeaders());
+            if (ttl == null) {
+                return super.writeWith(body);
+            }
+
+            // Content-Length is known and within maxBodySize here; the limit guards against an upstream that lies
+            return DataBufferUtils.join(body, (int) config.getMaxBodySize().toBytes()).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.putAll(getHeaders());
+                CachedResponse response = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), bytes, ttl);
+                cache.put(key, response);
+                leader.tryEmitValue(response);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private Duration cacheableFor(HttpStatusCode status, HttpHeaders headers) {
+            if (!status.is2xxSuccessful() || headers.containsHeader(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            // Only bodies of known, bounded size are buffered; chunked and streamed responses pass straight through
+            long contentLength = headers.getContentLength();
+            if (contentLength < 0 || contentLength > config.getMaxBodySize().toBytes() || isStreaming(headers)) {
+                return null;
+            }
+
+            Duration ttl = config.getTtl();
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null) {
+                if (cacheControl.contains("no-store") || cacheControl.contains("private")
+                        || cacheControl.contains("no-cache")) {
+                    return null;
+                }
+                Matcher maxAge = MAX_AGE.matcher(cacheControl);
+                if (maxAge.find()) {
+                    Duration upstream = Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+                    ttl = upstream.compareTo(ttl) < 0 ? upstream : ttl;
+                }
+            }
+            return ttl.isZero() || ttl.isNegative() ? null : ttl;
+        }
+    }
+
+    private static boolean isStreaming(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType));
+    }
+
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Duration ttl) {
+    }
+
+    @Data
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(5);
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+        private boolean perUser = false; // include the authenticated user in the cache key
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+}
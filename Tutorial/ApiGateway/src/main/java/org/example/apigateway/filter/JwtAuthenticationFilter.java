@@ -1,42 +1,68 @@
 package org.example.apigateway.filter;
 
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apigateway.client.AuthServiceUnavailableException;
+import org.example.apigateway.config.GatewayAuthProperties;
+import org.example.apigateway.security.PathPrefixTrie;
+import org.example.apigateway.security.TokenValidation;
+import org.example.apigateway.security.TokenValidationService;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClient.Builder;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
+@Slf4j
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    private final WebClient webClient;
+    // Verified subject forwarded to downstream services
+    public static final String AUTHENTICATED_USER_HEADER = "X-Authenticated-User";
 
-    private final List<String> openPaths = List.of(
-            "/api/auth/login",
-            "/api/auth/register"
-    );
+    // Route metadata key that turns auth off for a whole route
+    public static final String AUTH_REQUIRED_METADATA = "auth-required";
 
-    // Constructor injection using the bean we defined
-    public JwtAuthenticationFilter(Builder webClientBuilder, @Value("${auth.service.url}") String authServiceUrl) {
-        this.webClient = webClientBuilder
-                .baseUrl(authServiceUrl)
-                .build();
+    private final TokenValidationService tokenValidationService;
+
+    // Precompiled from gateway.auth.*: prefix -> whether a token is required
+    private final PathPrefixTrie<Boolean> authRules;
+
+    public JwtAuthenticationFilter(TokenValidationService tokenValidationService,
+                                   GatewayAuthProperties authProperties) {
+        this.tokenValidationService = tokenValidationService;
+
+        Map<String, Boolean> rules = new HashMap<>();
+        authProperties.getOpenPaths().forEach(path -> rules.put(path, Boolean.FALSE));
+        authProperties.getProtectedPaths().forEach(path -> rules.put(path, Boolean.TRUE));
+        this.authRules = PathPrefixTrie.of(rules);
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
+        // Never trust an identity header supplied by the client
+        if (exchange.getRequest().getHeaders().containsHeader(AUTHENTICATED_USER_HEADER)) {
+            exchange = exchange.mutate()
+                    .request(r -> r.headers(headers -> headers.remove(AUTHENTICATED_USER_HEADER)))
+                    .build();
+        }
+
+        // Rules are matched against the raw path; anything the downstream
+        // server could resolve to a different path is refused outright
+        String path = exchange.getRequest().getPath().value();
+        if (!isNormalized(path)) {
+            return reject(exchange, HttpStatus.BAD_REQUEST);
+        }
 
         // Skip auth for open endpoints
-        if (isOpenPath(path)) {
+        if (isOpenPath(exchange, path)) {
             return chain.filter(exchange);
         }
 
@@ -49,39 +75,126 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
 
         String token = authHeader.substring(7);
+        ServerWebExchange current = exchange;
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/api/auth/validate")
-                        .queryParam("token", token)
-                        .build())
-                .retrieve()
-                .bodyToMono(Boolean.class)
-                .defaultIfEmpty(false)
-                .flatMap(isValid -> {
-                    if (Boolean.TRUE.equals(isValid)) {
-                        // Optionally forward user info to downstream services
-                        return chain.filter(exchange);
+        return tokenValidationService.validate(token)
+                .onErrorResume(e -> !(e instanceof AuthServiceUnavailableException), e -> {
+                    log.warn("Auth validation error: {}", e.getMessage());
+                    return Mono.just(TokenValidation.invalid());
+                })
+                .flatMap(validation -> {
+                    if (validation.isValid()) {
+                        return chain.filter(withAuthenticatedUser(current, validation.getUsername()));
                     }
-                    return unauthorized(exchange);
+                    return unauthorized(current);
                 })
-                .onErrorResume(e -> {
-                    System.err.println("Auth validation error: " + e.getMessage());
-                    return unauthorized(exchange);
+                // Only raised by validation: answer 503 rather than 401 so clients keep their token
+                .onErrorResume(AuthServiceUnavailableException.class, e -> {
+                    log.warn("Auth service unavailable: {}", e.getMessage());
+                    return reject(current, HttpStatus.SERVICE_UNAVAILABLE);
                 });
     }
 
-    private boolean isOpenPath(String path) {
-        return openPaths.stream().anyMatch(path::startsWith);
+    /**
+     * Whether the raw path means the same to every server behind the gateway,
+     * so the rules can match it as sent. Refused: "." and ".." segments (also
+     * with ;parameters), empty segments other than a trailing slash,
+     * backslashes, malformed escapes, and percent-encoded slashes, backslashes
+     * or unreserved characters, which a server would decode into a path the
+     * rules never saw. Scans the path in place without allocating.
+     */
+    static boolean isNormalized(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        int start = 1;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (!isNormalSegment(path, start, end)) {
+                return false;
+            }
+            start = end + 1;
+        }
+        return true;
+    }
+
+    private static boolean isNormalSegment(String path, int start, int end) {
+        if (start == end) {
+            return end == path.length();
+        }
+        int valueLength = 0;
+        boolean onlyDots = true;
+        boolean inParameters = false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '\\') {
+                return false;
+            }
+            if (c == '%') {
+                int decoded = i + 2 < end ? hexPair(path.charAt(i + 1), path.charAt(i + 2)) : -1;
+                if (decoded < 0 || decoded == '/' || decoded == '\\' || isUnreserved(decoded)) {
+                    return false;
+                }
+                i += 2;
+            } else if (c == ';') {
+                inParameters = true;
+            }
+            if (!inParameters) {
+                valueLength++;
+                onlyDots &= c == '.';
+            }
+        }
+        return !(onlyDots && valueLength <= 2);
+    }
+
+    private static int hexPair(char high, char low) {
+        int h = Character.digit(high, 16);
+        int l = Character.digit(low, 16);
+        return h < 0 || l < 0 ? -1 : h << 4 | l;
+    }
+
+    // RFC 3986 unreserved characters: never need escaping, and servers decode them
+    private static boolean isUnreserved(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private boolean isOpenPath(ServerWebExchange exchange, String path) {
+        Boolean authRequired = authRules.longestPrefixMatch(path);
+        if (authRequired != null) {
+            return !authRequired;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return false;
+        }
+        Object routeAuthRequired = route.getMetadata().get(AUTH_REQUIRED_METADATA);
+        return routeAuthRequired != null && "false".equals(routeAuthRequired.toString());
+    }
+
+    private ServerWebExchange withAuthenticatedUser(ServerWebExchange exchange, String username) {
+        if (username == null) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(r -> r.header(AUTHENTICATED_USER_HEADER, username))
+                .build();
     }
 
     private Mono<Void> unauthorized(ServerWebExchange exchange) {
-        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return reject(exchange, HttpStatus.UNAUTHORIZED);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
         return exchange.getResponse().setComplete();
     }
 
     @Override
     public int getOrder() {
-        return -1;
+        return -100; // ahead of response-writing and caching filters, so cache hits are authenticated too
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package org.example.apigateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.apigateway.config.RateLimitProperties;
+import org.example.apigateway.ratelimit.RateLimit;
+import org.example.apigateway.ratelimit.RateLimitStore;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control per route and per client. Runs after JwtAuthenticationFilter
+ * so the key resolver can use the verified subject. Rejections get 429 with
+ * Retry-After and are counted in gateway.ratelimit.rejected{route}.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final KeyResolver keyResolver;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           RateLimitStore store,
+                           KeyResolver keyResolver,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.keyResolver = keyResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        RateLimit limit = properties.limitFor(route.getId());
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+
+        return keyResolver.resolve(exchange)
+                .defaultIfEmpty("anonymous")
+                .flatMap(key -> {
+                    long waitNanos = store.tryAcquire(route.getId() + ":" + key, limit);
+                    if (waitNanos == 0) {
+                        return chain.filter(exchange);
+                    }
+                    return tooManyRequests(exchange, route.getId(), waitNanos);
+                });
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, String routeId, long waitNanos) {
+        meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId).increment();
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return -90; // after JwtAuthenticationFilter (-100), before the response cache
+    }
+}
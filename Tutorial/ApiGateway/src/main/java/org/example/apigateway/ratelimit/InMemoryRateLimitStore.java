@@ -0,0 +1,33 @@
+package org.example.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets kept in a bounded cache; idle buckets are dropped, which is the same
+ * as them having refilled completely.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(long maxTrackedKeys, Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = System.nanoTime();
+        long emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getReplenishRate());
+        long burstTolerance = emissionInterval * limit.getBurstCapacity();
+
+        return buckets.get(key, k -> new TokenBucket(now))
+                .tryAcquire(now, emissionInterval, burstTolerance);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.apigateway.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimit {
+    private double replenishRate = 10; // tokens added per second
+    private int burstCapacity = 20;    // bucket size
+}
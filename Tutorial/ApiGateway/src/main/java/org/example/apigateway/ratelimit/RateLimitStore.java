@@ -0,0 +1,13 @@
+package org.example.apigateway.ratelimit;
+
+/**
+ * Holds bucket state. The in-memory store is per gateway replica; a shared
+ * implementation can replace it to enforce limits across replicas.
+ */
+public interface RateLimitStore {
+
+    /**
+     * @return 0 if the request is allowed, otherwise nanos until it would be
+     */
+    long tryAcquire(String key, RateLimit limit);
+}
@@ -0,0 +1,41 @@
+package org.example.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Verifies HS256 tokens issued by AuthService without leaving the gateway.
+ * Uses the same {@code jwt.secret} as AuthService's JwtUtil; the key and parser
+ * are built once and shared, since JwtParser is immutable and thread-safe.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+    }
+
+    public TokenValidation verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return TokenValidation.valid(claims.getSubject(), toMillis(claims.getExpiration()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidation.invalid();
+        }
+    }
+
+    private static Long toMillis(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.apigateway.security;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of path segments answering "which configured prefix is the
+ * longest prefix of this path?". Only whole segments match, so
+ * "/api/orders/health" does not match "/api/orders/healthz". Segments compare
+ * case-insensitively, and a segment's ";parameters" are ignored the way
+ * servers ignore them when mapping requests. Empty segments are skipped on
+ * both sides, so a trailing slash makes no difference. Built once at startup;
+ * lookups walk the path with index arithmetic and do not allocate.
+ */
+public final class PathPrefixTrie<V> {
+
+    private final Node<V> root;
+
+    private PathPrefixTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    public static <V> PathPrefixTrie<V> of(Map<String, V> prefixes) {
+        MutableNode<V> root = new MutableNode<>();
+        prefixes.forEach((prefix, value) -> {
+            MutableNode<V> node = root;
+            for (String segment : prefix.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, s -> new MutableNode<>());
+                }
+            }
+            node.value = value;
+        });
+        return new PathPrefixTrie<>(root.freeze());
+    }
+
+    /**
+     * @return the value of the longest prefix matching whole segments, or {@code null} if none matches
+     */
+    public V longestPrefixMatch(String path) {
+        Node<V> node = root;
+        V match = node.value;
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            int valueEnd = segmentValueEnd(path, start, end);
+            if (valueEnd > start) {
+                node = node.child(path, start, valueEnd - start);
+                if (node == null) {
+                    break;
+                }
+                if (node.value != null) {
+                    match = node.value;
+                }
+            }
+            start = end + 1;
+        }
+        return match;
+    }
+
+    // End of the segment's value, before any ;parameters
+    private static int segmentValueEnd(String path, int start, int end) {
+        int semicolon = path.indexOf(';', start);
+        return semicolon >= 0 && semicolon < end ? semicolon : end;
+    }
+
+    private static final class Node<V> {
+        private final String[] labels;
+        private final Node<V>[] children;
+        private final V value;
+
+        private Node(String[] labels, Node<V>[] children, V value) {
+            this.labels = labels;
+            this.children = children;
+            this.value = value;
+        }
+
+        // Few children per node, so a linear scan beats hashing a substring
+        private Node<V> child(String path, int offset, int length) {
+            for (int i = 0; i < labels.length; i++) {
+                String label = labels[i];
+                if (label.length() == length && path.regionMatches(true, offset, label, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class MutableNode<V> {
+        private final TreeMap<String, MutableNode<V>> children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private Node<V> freeze() {
+            String[] labels = new String[children.size()];
+            Node<V>[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<String, MutableNode<V>> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node<>(labels, frozen, value);
+        }
+    }
+}
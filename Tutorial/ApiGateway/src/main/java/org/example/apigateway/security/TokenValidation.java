@@ -0,0 +1,25 @@
+package org.example.apigateway.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenValidation {
+
+    private static final TokenValidation INVALID = new TokenValidation(false, null, null);
+
+    private boolean valid;
+    private String username;
+    private Long expiresAt; // epoch millis, taken from the "exp" claim
+
+    public static TokenValidation valid(String username, Long expiresAt) {
+        return new TokenValidation(true, username, expiresAt);
+    }
+
+    public static TokenValidation invalid() {
+        return INVALID;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of validation results keyed by the SHA-256 of the token, so raw
+ * tokens are never held in memory. A valid result lives until the token's "exp"
+ * claim or max-ttl, whichever comes first; invalid results are cached for the
+ * short negative-ttl. Concurrent lookups of the same token share one load.
+ * Hit/miss/eviction counts are published as "cache.*" metrics with cache=auth.token-validation.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final AsyncCache<String, TokenValidation> cache;
+
+    public TokenValidationCache(@Value("${auth.cache.max-size:10000}") long maxSize,
+                                @Value("${auth.cache.max-ttl:5m}") Duration maxTtl,
+                                @Value("${auth.cache.negative-ttl:10s}") Duration negativeTtl,
+                                MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ValidationExpiry(maxTtl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.token-validation", List.of());
+    }
+
+    public Mono<TokenValidation> get(String token, Function<String, Mono<TokenValidation>> loader) {
+        return Mono.fromFuture(() -> cache.get(hash(token), (key, executor) -> loader.apply(token).toFuture()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class ValidationExpiry implements Expiry<String, TokenValidation> {
+
+        private final long maxTtlNanos;
+        private final long negativeTtlNanos;
+
+        private ValidationExpiry(Duration maxTtl, Duration negativeTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenValidation value, long currentTime) {
+            if (!value.isValid()) {
+                return negativeTtlNanos;
+            }
+            if (value.getExpiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiry = Duration.ofMillis(value.getExpiresAt() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenValidation value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.apigateway.security;
+
+import org.example.apigateway.client.AuthServiceClient;
+import org.example.apigateway.client.AuthServiceUnavailableException;
+import org.example.apigateway.client.AuthValidationBatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides how a bearer token is validated. In LOCAL mode (the default) the
+ * signature and expiry are checked in-process; AuthService is only called when
+ * the mode is REMOTE, or when remote-fallback is enabled and the local check fails
+ * (e.g. during a key rotation). Remote results go through {@link TokenValidationCache};
+ * cache misses are coalesced by {@link AuthValidationBatcher} when auth.batch.enabled is set.
+ * If AuthService is unavailable and auth.circuit-breaker.fallback-to-local is set, the
+ * token is verified locally instead of failing the request.
+ */
+@Service
+public class TokenValidationService {
+
+    public enum Mode { LOCAL, REMOTE }
+
+    private final JwtVerifier jwtVerifier;
+    private final AuthServiceClient authServiceClient;
+    private final AuthValidationBatcher batcher;
+    private final TokenValidationCache cache;
+    private final Mode mode;
+    private final boolean remoteFallback;
+    private final boolean batchEnabled;
+    private final boolean fallbackToLocal;
+
+    public TokenValidationService(JwtVerifier jwtVerifier,
+                                  AuthServiceClient authServiceClient,
+                                  AuthValidationBatcher batcher,
+                                  TokenValidationCache cache,
+                                  @Value("${auth.validation.mode:LOCAL}") Mode mode,
+                                  @Value("${auth.validation.remote-fallback:false}") boolean remoteFallback,
+                                  @Value("${auth.batch.enabled:true}") boolean batchEnabled,
+                                  @Value("${auth.circuit-breaker.fallback-to-local:false}") boolean fallbackToLocal) {
+        this.jwtVerifier = jwtVerifier;
+        this.authServiceClient = authServiceClient;
+        this.batcher = batcher;
+        this.cache = cache;
+        this.mode = mode;
+        this.remoteFallback = remoteFallback;
+        this.batchEnabled = batchEnabled;
+        this.fallbackToLocal = fallbackToLocal;
+    }
+
+    public Mono<TokenValidation> validate(String token) {
+        if (mode == Mode.REMOTE) {
+            return validateRemotely(token);
+        }
+
+        TokenValidation local = jwtVerifier.verify(token);
+        if (local.isValid() || !remoteFallback) {
+            return Mono.just(local);
+        }
+        return validateRemotely(token);
+    }
+
+    private Mono<TokenValidation> validateRemotely(String token) {
+        Mono<TokenValidation> remote = cache.get(token, batchEnabled ? batcher::validate : authServiceClient::validate);
+        if (!fallbackToLocal) {
+            return remote;
+        }
+        return remote.onErrorResume(AuthServiceUnavailableException.class, e -> Mono.just(jwtVerifier.verify(token)));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.apigateway.filter;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/",
+            "/api/orders",
+            "/api/orders/",
+            "/API/Orders/42",
+            "/api/orders/admin;x=1",
+            "/api/orders/a.b",
+            "/api/orders/...",
+            "/api/orders/my%20order",
+            "/api/orders/%C3%A9"
+    })
+    void acceptsPathsServersResolveAsSent(String path) {
+        assertThat(JwtAuthenticationFilter.isNormalized(path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "api/orders",
+            "/api/orders/../admin",
+            "/api/orders/./admin",
+            "/api/orders/..",
+            "/api/orders/..;x=1/admin",
+            "/api/orders/;x=1/admin",
+            "/api//orders",
+            "/api/orders//",
+            "/api/orders\\admin",
+            "/api/orders%2fadmin",
+            "/api/orders%2Fadmin",
+            "/api/orders%5cadmin",
+            "/api/orders/%2e%2e/admin",
+            "/api/orders/%61dmin",
+            "/api/orders/admin%",
+            "/api/orders/admin%4",
+            "/api/orders/admin%zz"
+    })
+    void refusesPathsServersCouldResolveElsewhere(String path) {
+        assertThat(JwtAuthenticationFilter.isNormalized(path)).isFalse();
+    }
+}
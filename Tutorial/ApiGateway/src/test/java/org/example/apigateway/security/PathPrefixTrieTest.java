@@ -0,0 +1,56 @@
+package org.example.apigateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathPrefixTrieTest {
+
+    private final PathPrefixTrie<String> trie = PathPrefixTrie.of(Map.of(
+            "/api/orders", "open",
+            "/api/orders/admin", "protected",
+            "/api/orders/health", "health",
+            "/api/auth/", "auth"));
+
+    @Test
+    void matchesOnlyWholeSegments() {
+        assertThat(trie.longestPrefixMatch("/api/orders/health")).isEqualTo("health");
+        assertThat(trie.longestPrefixMatch("/api/orders/healthz")).isEqualTo("open");
+        assertThat(trie.longestPrefixMatch("/api/ordersx")).isNull();
+        assertThat(trie.longestPrefixMatch("/api")).isNull();
+    }
+
+    @Test
+    void longestPrefixWins() {
+        assertThat(trie.longestPrefixMatch("/api/orders")).isEqualTo("open");
+        assertThat(trie.longestPrefixMatch("/api/orders/42")).isEqualTo("open");
+        assertThat(trie.longestPrefixMatch("/api/orders/admin")).isEqualTo("protected");
+        assertThat(trie.longestPrefixMatch("/api/orders/admin/users")).isEqualTo("protected");
+    }
+
+    @Test
+    void ignoresCase() {
+        assertThat(trie.longestPrefixMatch("/API/Orders/ADMIN")).isEqualTo("protected");
+        assertThat(trie.longestPrefixMatch("/api/orders/Health")).isEqualTo("health");
+    }
+
+    @Test
+    void ignoresTrailingSlashes() {
+        assertThat(trie.longestPrefixMatch("/api/orders/admin/")).isEqualTo("protected");
+        assertThat(trie.longestPrefixMatch("/api/auth")).isEqualTo("auth");
+        assertThat(trie.longestPrefixMatch("/api/auth/login")).isEqualTo("auth");
+    }
+
+    @Test
+    void ignoresSegmentParameters() {
+        assertThat(trie.longestPrefixMatch("/api/orders/admin;x=1")).isEqualTo("protected");
+        assertThat(trie.longestPrefixMatch("/api;v=2/orders/admin")).isEqualTo("protected");
+    }
+
+    @Test
+    void emptyTrieMatchesNothing() {
+        assertThat(PathPrefixTrie.of(Map.of()).longestPrefixMatch("/api/orders")).isNull();
+    }
+}
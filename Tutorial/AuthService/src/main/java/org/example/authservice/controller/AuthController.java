@@ -3,9 +3,13 @@ package org.example.authservice.controller;
 import org.example.authservice.model.dto.*;
 import org.example.authservice.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -13,6 +17,10 @@ public class AuthController {
 
     private final AuthService authService;
 
+    // Matches the gateway's auth.batch.max-size; larger batches are rejected unverified
+    @Value("${auth.validate.max-batch-size:64}")
+    private int maxBatchSize;
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
         return ResponseEntity.ok(authService.register(request));
@@ -23,8 +31,26 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    // Token is read from "Authorization: Bearer ..."; the ?token= query param is still accepted
     @GetMapping("/validate")
-    public ResponseEntity<Boolean> validateToken(@RequestParam String token) {
-        return ResponseEntity.ok(authService.validateToken(token));
+    public ResponseEntity<TokenValidationResponse> validateToken(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) String token) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            token = authorization.substring(7);
+        }
+        if (token == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(authService.validate(token));
+    }
+
+    // Results are returned in the same order as the submitted tokens
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<TokenValidationResponse>> validateTokens(@RequestBody BatchValidationRequest request) {
+        if (request.getTokens() == null || request.getTokens().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(authService.validateAll(request.getTokens()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package org.example.authservice.model.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchValidationRequest {
+    private List<String> tokens;
+}
@@ -0,0 +1,21 @@
+package org.example.authservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenValidationResponse {
+
+    private static final TokenValidationResponse INVALID = new TokenValidationResponse(false, null, null);
+
+    private boolean valid;
+    private String username;
+    private Long expiresAt; // epoch millis
+
+    public static TokenValidationResponse invalid() {
+        return INVALID;
+    }
+}
@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.example.authservice.model.dto.AuthRequest;
 import org.example.authservice.model.dto.AuthResponse;
 import org.example.authservice.model.dto.RegisterRequest;
+import org.example.authservice.model.dto.TokenValidationResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 public interface AuthService {
     AuthResponse register(RegisterRequest request);
     AuthResponse login(AuthRequest request);
     boolean validateToken(String token);
+    TokenValidationResponse validate(String token);
+    List<TokenValidationResponse> validateAll(List<String> tokens);
     String extractUsername(String token);
 }
@@ -4,6 +4,7 @@ import org.example.authservice.model.User;
 import org.example.authservice.model.dto.AuthRequest;
 import org.example.authservice.model.dto.AuthResponse;
 import org.example.authservice.model.dto.RegisterRequest;
+import org.example.authservice.model.dto.TokenValidationResponse;
 import org.example.authservice.repository.UserRepository;
 import org.example.authservice.security.JwtUtil;
 import org.example.authservice.service.AuthService;
@@ -12,6 +13,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -55,6 +58,18 @@ public class AuthServiceImpl implements AuthService {
         return jwtUtil.validateToken(token);
     }
 
+    @Override
+    public TokenValidationResponse validate(String token) {
+        return jwtUtil.validate(token);
+    }
+
+    @Override
+    public List<TokenValidationResponse> validateAll(List<String> tokens) {
+        return tokens.stream()
+                .map(jwtUtil::validate)
+                .toList();
+    }
+
     @Override
     public String extractUsername(String token) {
         return jwtUtil.extractUsername(token);
@@ -0,0 +1,91 @@
+package org.example.authservice.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.authservice.model.dto.TokenValidationResponse;
+import org.example.authservice.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old per-call key/parser construction in JwtUtil with the cached
+ * key and parser, for the /api/auth/validate path (validity + subject).
+ *
+ * Run with GC profiling (reports gc.alloc.rate.norm = bytes allocated per call):
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      org.example.authservice.benchmark.JwtUtilBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "b646c7edd9d62bcb104a4bee9c8184f5";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86400000);
+        token = jwtUtil.generateToken("benchmark-user");
+    }
+
+    /** What JwtUtil did before: new key + new parser, and one parse per question asked. */
+    @Benchmark
+    public String validateAndExtractUncached() {
+        if (!uncachedIsValid(token)) {
+            return null;
+        }
+        return uncachedParse(token).getSubject();
+    }
+
+    @Benchmark
+    public TokenValidationResponse validateCached() {
+        return jwtUtil.validate(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark-user");
+    }
+
+    private static boolean uncachedIsValid(String token) {
+        try {
+            uncachedParse(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Claims uncachedParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
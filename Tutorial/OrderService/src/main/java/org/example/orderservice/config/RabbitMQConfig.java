@@ -26,6 +26,10 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key}")
     private String routingKey;
 
+    // json or binary; switch to binary once every consumer understands it
+    @Value("${rabbitmq.message-format:json}")
+    private String messageFormat;
+
     // Dead Letter Queue configuration
     private static final String DLQ_EXCHANGE = "orders.dlx";
     private static final String DLQ_QUEUE = "orders.dlq";
@@ -76,7 +80,9 @@ public class RabbitMQConfig {
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
+        template.setMessageConverter("binary".equalsIgnoreCase(messageFormat)
+                ? new OrderMessageBinaryConverter()
+                : jsonMessageConverter());
         return template;
     }
 }
\ No newline at end of file
@@ -1,18 +1,28 @@
 package org.example.orderservice.controller;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.orderservice.model.OrderMessage;
+import org.example.orderservice.model.dto.BatchOrderItemResult;
+import org.example.orderservice.model.dto.BatchOrderRequest;
 import org.example.orderservice.model.dto.OrderRequest;
-import org.example.orderservice.service.OrderPublisher;
+import org.example.orderservice.outbox.OrderOutbox;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -20,24 +30,86 @@ import java.util.Map;
 public class OrderController {
 
     @Autowired
-    private OrderPublisher orderPublisher;
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private Validator validator;
+
+    // Release the Tomcat thread while the outbox write is pending (servlet async)
+    @Value("${orders.async-requests:true}")
+    private boolean asyncRequests;
 
     @PostMapping
-    public ResponseEntity<Map<String, String>> createOrder(@Valid @RequestBody OrderRequest request) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> createOrder(@Valid @RequestBody OrderRequest request) {
         log.info("Received order request: customerId={}, productId={}",
                 request.getCustomerId(), request.getProductId());
 
-        // Convert to message and publish
+        // Convert to message and record it locally; the outbox relay publishes it
         OrderMessage orderMessage = OrderMessage.fromRequest(request);
-        orderPublisher.publishOrder(orderMessage);
 
-        // Return immediately with 202 Accepted
-        Map<String, String> response = new HashMap<>();
-        response.put("orderId", orderMessage.getOrderId());
-        response.put("status", "PENDING");
-        response.put("message", "Order received and queued for processing");
+        return record(List.of(orderMessage)).thenApply(recorded -> {
+            // Return 202 Accepted once the order is on disk
+            Map<String, String> response = new HashMap<>();
+            response.put("orderId", orderMessage.getOrderId());
+            response.put("status", "PENDING");
+            response.put("message", "Order received and queued for processing");
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        });
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createOrders(@Valid @RequestBody BatchOrderRequest request) {
+        List<OrderRequest> orders = request.getOrders();
+        log.info("Received batch of {} order requests", orders.size());
+
+        List<BatchOrderItemResult> results = new ArrayList<>(orders.size());
+        List<OrderMessage> accepted = new ArrayList<>(orders.size());
+
+        for (int i = 0; i < orders.size(); i++) {
+            OrderRequest order = orders.get(i);
+            Set<ConstraintViolation<OrderRequest>> violations =
+                    order == null ? Set.of() : validator.validate(order);
+
+            if (order == null || !violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                if (order == null) {
+                    errors.put("order", "Order is required");
+                }
+                violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+                results.add(BatchOrderItemResult.builder().index(i).status("REJECTED").errors(errors).build());
+                continue;
+            }
+
+            OrderMessage orderMessage = OrderMessage.fromRequest(order);
+            accepted.add(orderMessage);
+            results.add(BatchOrderItemResult.builder()
+                    .index(i)
+                    .orderId(orderMessage.getOrderId())
+                    .status("PENDING")
+                    .build());
+        }
+
+        CompletableFuture<Void> recorded = accepted.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : record(accepted);
+
+        return recorded.thenApply(done -> {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("accepted", accepted.size());
+            response.put("rejected", orders.size() - accepted.size());
+            response.put("results", results);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        });
+    }
 
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    private CompletableFuture<Void> record(List<OrderMessage> orderMessages) {
+        if (asyncRequests) {
+            return orderOutbox.appendAsync(orderMessages).thenApply(entries -> null);
+        }
+        orderOutbox.appendAll(orderMessages);
+        return CompletableFuture.completedFuture(null);
     }
 
     @GetMapping("/health")
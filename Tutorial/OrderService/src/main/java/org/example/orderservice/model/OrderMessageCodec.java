@@ -0,0 +1,196 @@
+package org.example.orderservice.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of {@link OrderMessage}. ProcessingService has a copy
+ * of this class; the two must stay in step, and any layout change needs a
+ * new VERSION so consumers can tell old payloads from new ones.
+ *
+ * Layout (v1):
+ * <pre>
+ * byte    version
+ * byte    presence bits, one per field below in order (1 = present)
+ * string  orderId, customerId, productId   varint length + UTF-8
+ * varint  quantity                         zigzag
+ * decimal price, totalAmount               zigzag varint scale + varint length + unscaled two's complement
+ * time    createdAt                        zigzag varlong epoch second (as UTC) + varint nanos
+ * </pre>
+ */
+public final class OrderMessageCodec {
+
+    public static final byte VERSION = 1;
+
+    private OrderMessageCodec() {
+    }
+
+    public static byte[] encode(OrderMessage message) {
+        Writer out = new Writer();
+        out.buf[out.pos++] = VERSION;
+        int presence = 0;
+        Object[] fields = {message.getOrderId(), message.getCustomerId(), message.getProductId(),
+                message.getQuantity(), message.getPrice(), message.getTotalAmount(), message.getCreatedAt()};
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= 1 << i;
+            }
+        }
+        out.buf[out.pos++] = (byte) presence;
+
+        if (message.getOrderId() != null) {
+            out.string(message.getOrderId());
+        }
+        if (message.getCustomerId() != null) {
+            out.string(message.getCustomerId());
+        }
+        if (message.getProductId() != null) {
+            out.string(message.getProductId());
+        }
+        if (message.getQuantity() != null) {
+            out.varlong(zigzag(message.getQuantity()));
+        }
+        if (message.getPrice() != null) {
+            out.decimal(message.getPrice());
+        }
+        if (message.getTotalAmount() != null) {
+            out.decimal(message.getTotalAmount());
+        }
+        if (message.getCreatedAt() != null) {
+            out.varlong(zigzag(message.getCreatedAt().toEpochSecond(ZoneOffset.UTC)));
+            out.varlong(message.getCreatedAt().getNano());
+        }
+        return Arrays.copyOf(out.buf, out.pos);
+    }
+
+    public static OrderMessage decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        byte version = in.bytes[in.pos++];
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported OrderMessage encoding version " + version);
+        }
+        int presence = in.bytes[in.pos++];
+
+        OrderMessage message = new OrderMessage();
+        if ((presence & 1) != 0) {
+            message.setOrderId(in.string());
+        }
+        if ((presence & 2) != 0) {
+            message.setCustomerId(in.string());
+        }
+        if ((presence & 4) != 0) {
+            message.setProductId(in.string());
+        }
+        if ((presence & 8) != 0) {
+            message.setQuantity((int) unzigzag(in.varlong()));
+        }
+        if ((presence & 16) != 0) {
+            message.setPrice(in.decimal());
+        }
+        if ((presence & 32) != 0) {
+            message.setTotalAmount(in.decimal());
+        }
+        if ((presence & 64) != 0) {
+            long epochSecond = unzigzag(in.varlong());
+            int nanos = (int) in.varlong();
+            message.setCreatedAt(LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC));
+        }
+        return message;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf = new byte[128];
+        private int pos;
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        void varlong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void raw(byte[] bytes) {
+            varlong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void string(String value) {
+            raw(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void decimal(BigDecimal value) {
+            varlong(zigzag(value.scale()));
+            raw(value.unscaledValue().toByteArray());
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int pos;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long varlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in OrderMessage payload");
+        }
+
+        int length() {
+            int length = (int) varlong();
+            if (length < 0 || length > bytes.length - pos) {
+                throw new IllegalArgumentException("Truncated OrderMessage payload");
+            }
+            return length;
+        }
+
+        byte[] raw() {
+            int length = length();
+            byte[] value = Arrays.copyOfRange(bytes, pos, pos + length);
+            pos += length;
+            return value;
+        }
+
+        String string() {
+            int length = length();
+            String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        BigDecimal decimal() {
+            int scale = (int) unzigzag(varlong());
+            return new BigDecimal(new BigInteger(raw()), scale);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.orderservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOrderItemResult {
+    private int index;
+    private String orderId;
+    private String status;              // PENDING or REJECTED
+    private Map<String, String> errors; // field -> message, only for REJECTED items
+}
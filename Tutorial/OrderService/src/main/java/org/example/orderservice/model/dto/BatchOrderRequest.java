@@ -0,0 +1,22 @@
+package org.example.orderservice.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderRequest {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    // Items are validated one by one so a bad item doesn't reject the whole batch
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " orders per batch")
+    private List<OrderRequest> orders;
+}
@@ -0,0 +1,376 @@
+package org.example.orderservice.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.model.OrderMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File-backed outbox for orders that still have to reach RabbitMQ.
+ *
+ * Orders are appended as JSON lines to {@code orders.log} by a single writer
+ * thread that group-commits concurrent appends (one fsync per group when
+ * {@code outbox.fsync} is on) and handed to {@link OutboxRelay}. As
+ * broker confirms come back, the highest contiguous confirmed sequence is
+ * checkpointed to {@code orders.offset}; fully confirmed log prefixes are
+ * compacted away. After a crash everything past the checkpoint is replayed, so
+ * delivery is at-least-once and consumers must tolerate duplicates.
+ */
+@Component
+@Slf4j
+public class OrderOutbox {
+
+    private static final String LOG_FILE = "orders.log";
+    private static final String OFFSET_FILE = "orders.offset";
+    private static final int MAX_GROUP_SIZE = 256;
+
+    private final JsonMapper jsonMapper;
+    private final Path logPath;
+    private final Path offsetPath;
+    private final boolean fsync;
+    private final int maxPending;
+    private final long compactThreshold;
+
+    private final BlockingDeque<OutboxEntry> ready = new LinkedBlockingDeque<>();
+    private final ConcurrentSkipListSet<Long> unconfirmed = new ConcurrentSkipListSet<>();
+    // Size of unconfirmed; the set's own size() walks every element
+    private final AtomicInteger unconfirmedCount = new AtomicInteger();
+    private final Object appendLock = new Object();
+    // Guards open against appends racing close(); never held during I/O
+    private final Object stateLock = new Object();
+
+    private final BlockingQueue<PendingAppend> appends = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean open = true;
+
+    private FileChannel channel;
+    private long lastSeq;
+    private long checkpointed;
+    private long compactedUpTo;
+
+    public OrderOutbox(JsonMapper jsonMapper,
+                       @Value("${outbox.dir:./data/outbox}") String dir,
+                       @Value("${outbox.fsync:true}") boolean fsync,
+                       @Value("${outbox.max-pending:100000}") int maxPending,
+                       @Value("${outbox.compact-threshold-bytes:16777216}") long compactThreshold) throws IOException {
+        this.jsonMapper = jsonMapper;
+        this.fsync = fsync;
+        this.maxPending = maxPending;
+        this.compactThreshold = compactThreshold;
+
+        Path directory = Path.of(dir);
+        Files.createDirectories(directory);
+        this.logPath = directory.resolve(LOG_FILE);
+        this.offsetPath = directory.resolve(OFFSET_FILE);
+
+        recover();
+        this.channel = openLog();
+
+        this.writer = new Thread(this::writeLoop, "outbox-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public OutboxEntry append(OrderMessage order) {
+        return appendAll(List.of(order)).get(0);
+    }
+
+    /**
+     * Durably records the orders and queues them for publishing, blocking
+     * until they are on disk.
+     */
+    public List<OutboxEntry> appendAll(List<OrderMessage> orders) {
+        try {
+            return appendAsync(orders).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Same as {@link #appendAll} without holding the caller's thread. Appends
+     * that arrive while a write is in progress are group-committed: one write
+     * and one fsync for everything that queued up in the meantime.
+     */
+    public CompletableFuture<List<OutboxEntry>> appendAsync(List<OrderMessage> orders) {
+        // Serialize on the caller's thread; the writer only frames the lines
+        List<String> json = new ArrayList<>(orders.size());
+        for (OrderMessage order : orders) {
+            json.add(jsonMapper.writeValueAsString(order));
+        }
+        PendingAppend pending = new PendingAppend(orders, json, new CompletableFuture<>());
+        synchronized (stateLock) {
+            if (open) {
+                appends.add(pending);
+                return pending.result();
+            }
+        }
+        pending.result().completeExceptionally(new OutboxUnavailableException("Order outbox is closed"));
+        return pending.result();
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(MAX_GROUP_SIZE);
+        while (open || !appends.isEmpty()) {
+            try {
+                PendingAppend first = appends.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appends.drainTo(group, MAX_GROUP_SIZE - 1);
+                writeGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void writeGroup(List<PendingAppend> group) {
+        List<List<OutboxEntry>> results = new ArrayList<>(group.size());
+        RuntimeException failure = null;
+
+        synchronized (appendLock) {
+            long seq = lastSeq;
+            int admitted = unconfirmedCount.get();
+            StringBuilder lines = new StringBuilder();
+
+            for (PendingAppend pending : group) {
+                if (admitted + pending.orders().size() > maxPending) {
+                    results.add(null);
+                    continue;
+                }
+                admitted += pending.orders().size();
+
+                List<OutboxEntry> entries = new ArrayList<>(pending.orders().size());
+                for (int i = 0; i < pending.orders().size(); i++) {
+                    entries.add(new OutboxEntry(++seq, pending.orders().get(i)));
+                    lines.append("{\"seq\":").append(seq)
+                            .append(",\"order\":").append(pending.json().get(i)).append("}\n");
+                }
+                results.add(entries);
+            }
+
+            long sizeBefore = -1;
+            try {
+                sizeBefore = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+                lastSeq = seq;
+                for (List<OutboxEntry> entries : results) {
+                    if (entries != null) {
+                        entries.forEach(entry -> unconfirmed.add(entry.getSeq()));
+                        unconfirmedCount.addAndGet(entries.size());
+                        ready.addAll(entries);
+                    }
+                }
+            } catch (IOException e) {
+                failure = new RuntimeException("Failed to write order to outbox", e);
+                truncateTo(sizeBefore);
+            }
+        }
+
+        // Complete outside the lock, callers' continuations may run here
+        for (int i = 0; i < group.size(); i++) {
+            CompletableFuture<List<OutboxEntry>> result = group.get(i).result();
+            if (results.get(i) == null) {
+                result.completeExceptionally(
+                        new OutboxUnavailableException("Order outbox is full, message broker is not keeping up"));
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(results.get(i));
+            }
+        }
+    }
+
+    private void truncateTo(long size) {
+        if (size < 0) {
+            return;
+        }
+        try {
+            // Don't leave lines behind for orders the caller was told failed
+            channel.truncate(size);
+        } catch (IOException e) {
+            log.error("Failed to roll back partial outbox write", e);
+        }
+    }
+
+    /** Next entry to publish, or null if none arrived within the timeout. */
+    OutboxEntry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return ready.pollFirst(timeout, unit);
+    }
+
+    /** Puts a nacked or failed entry back at the head of the queue. */
+    void retry(OutboxEntry entry) {
+        ready.offerFirst(entry);
+    }
+
+    void confirmed(long seq) {
+        if (unconfirmed.remove(seq)) {
+            unconfirmedCount.decrementAndGet();
+        }
+    }
+
+    public int pending() {
+        return unconfirmedCount.get();
+    }
+
+    /**
+     * Persists the confirmed watermark and compacts the log once it has grown
+     * past the threshold.
+     */
+    @Scheduled(fixedDelayString = "${outbox.checkpoint-interval:1000}")
+    public void checkpoint() {
+        synchronized (appendLock) {
+            Long oldest = unconfirmed.isEmpty() ? null : unconfirmed.first();
+            long watermark = oldest == null ? lastSeq : oldest - 1;
+            try {
+                if (watermark != checkpointed) {
+                    Path tmp = offsetPath.resolveSibling(OFFSET_FILE + ".tmp");
+                    Files.writeString(tmp, Long.toString(watermark));
+                    Files.move(tmp, offsetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    checkpointed = watermark;
+                }
+                if (watermark > compactedUpTo && channel.size() > compactThreshold) {
+                    compact(watermark);
+                }
+            } catch (IOException e) {
+                log.error("Outbox checkpoint failed", e);
+            }
+        }
+    }
+
+    private void compact(long watermark) throws IOException {
+        if (unconfirmed.isEmpty()) {
+            channel.truncate(0);
+        } else {
+            Path tmp = logPath.resolveSibling(LOG_FILE + ".tmp");
+            try (BufferedReader reader = Files.newBufferedReader(logPath);
+                 var writer = Files.newBufferedWriter(tmp)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    OutboxEntry entry = parse(line);
+                    if (entry != null && entry.getSeq() > watermark) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+            channel.close();
+            Files.move(tmp, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = openLog();
+        }
+        compactedUpTo = watermark;
+        log.info("Outbox log compacted up to seq {}", watermark);
+    }
+
+    private void recover() throws IOException {
+        checkpointed = Files.exists(offsetPath) ? Long.parseLong(Files.readString(offsetPath).trim()) : 0;
+        lastSeq = checkpointed;
+        compactedUpTo = checkpointed;
+        if (!Files.exists(logPath)) {
+            return;
+        }
+
+        byte[] content = Files.readAllBytes(logPath);
+        int end = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') {
+                continue;
+            }
+            OutboxEntry entry = parse(new String(content, end, i - end, StandardCharsets.UTF_8));
+            end = i + 1;
+            if (entry == null || entry.getSeq() <= checkpointed) {
+                continue;
+            }
+            if (unconfirmed.add(entry.getSeq())) {
+                unconfirmedCount.incrementAndGet();
+            }
+            ready.offerLast(entry);
+            lastSeq = Math.max(lastSeq, entry.getSeq());
+        }
+        if (end < content.length) {
+            // Drop a torn write from a crash mid-append so new lines start clean
+            log.warn("Truncating {} bytes of incomplete outbox record", content.length - end);
+            try (FileChannel file = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                file.truncate(end);
+            }
+        }
+        if (!ready.isEmpty()) {
+            log.info("Recovered {} unpublished orders from outbox", ready.size());
+        }
+    }
+
+    private OutboxEntry parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return jsonMapper.readValue(line, OutboxEntry.class);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable outbox line: {}", line);
+            return null;
+        }
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private record PendingAppend(List<OrderMessage> orders, List<String> json,
+                                 CompletableFuture<List<OutboxEntry>> result) {
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        synchronized (stateLock) {
+            if (!open) {
+                return;
+            }
+            open = false;
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        // Whatever the writer did not get to in time fails rather than waiting forever
+        PendingAppend abandoned;
+        while ((abandoned = appends.poll()) != null) {
+            abandoned.result().completeExceptionally(new OutboxUnavailableException("Order outbox is closed"));
+        }
+        checkpoint();
+        synchronized (appendLock) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.orderservice.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.orderservice.model.OrderMessage;
+
+/**
+ * One line of the outbox log. Sequence numbers only grow, so the offset file
+ * can record "everything up to here is confirmed" as a single number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntry {
+    private long seq;
+    private OrderMessage order;
+}
@@ -0,0 +1,109 @@
+package org.example.orderservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.service.OrderPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@link OrderOutbox} into RabbitMQ on a background thread. Publishes
+ * are pipelined: up to {@code outbox.relay.max-in-flight} messages may await
+ * their confirm at once, and each confirm releases a slot. Nacks and send
+ * failures put the entry back and pause the relay briefly.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OrderOutbox outbox;
+    private final OrderPublisher orderPublisher;
+    private final Semaphore inFlight;
+    private final long retryBackoffMs;
+
+    private volatile boolean running;
+    private volatile long pausedUntil;
+    private Thread worker;
+
+    public OutboxRelay(OrderOutbox outbox,
+                       OrderPublisher orderPublisher,
+                       @Value("${outbox.relay.max-in-flight:256}") int maxInFlight,
+                       @Value("${outbox.relay.retry-backoff:1000}") long retryBackoffMs) {
+        this.outbox = outbox;
+        this.orderPublisher = orderPublisher;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                long pause = pausedUntil - System.currentTimeMillis();
+                if (pause > 0) {
+                    Thread.sleep(pause);
+                }
+                if (!inFlight.tryAcquire(1, TimeUnit.SECONDS)) {
+                    continue;
+                }
+                OutboxEntry entry = outbox.poll(1, TimeUnit.SECONDS);
+                if (entry == null) {
+                    inFlight.release();
+                    continue;
+                }
+                publish(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void publish(OutboxEntry entry) {
+        try {
+            orderPublisher.publishOrder(entry.getOrder(), Long.toString(entry.getSeq()))
+                    .whenComplete((acked, error) -> {
+                        inFlight.release();
+                        if (error == null && acked) {
+                            outbox.confirmed(entry.getSeq());
+                        } else {
+                            log.warn("Order not confirmed by broker, will retry: orderId={}",
+                                    entry.getOrder().getOrderId(), error);
+                            requeue(entry);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Failed to send order, will retry: orderId={}", entry.getOrder().getOrderId(), e);
+            inFlight.release();
+            requeue(entry);
+        }
+    }
+
+    private void requeue(OutboxEntry entry) {
+        pausedUntil = System.currentTimeMillis() + retryBackoffMs;
+        outbox.retry(entry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
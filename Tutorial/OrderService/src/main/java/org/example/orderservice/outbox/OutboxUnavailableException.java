@@ -0,0 +1,11 @@
+package org.example.orderservice.outbox;
+
+/**
+ * The outbox cannot take the order right now: it is full because the broker
+ * is not keeping up, or the service is shutting down. Worth retrying later.
+ */
+public class OutboxUnavailableException extends RuntimeException {
+    public OutboxUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,10 +2,13 @@ package org.example.orderservice.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.orderservice.model.OrderMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,16 +22,22 @@ public class OrderPublisher {
     @Value("${rabbitmq.routing-key}")
     private String routingKey;
 
-    public void publishOrder(OrderMessage orderMessage) {
-        try {
-            log.info("Publishing order to queue: orderId={}", orderMessage.getOrderId());
+    /**
+     * Sends without waiting for the broker. The future completes with the
+     * publisher confirm: true once the broker has taken responsibility for the
+     * message, false on a nack (a closed channel also counts as a nack).
+     */
+    public CompletableFuture<Boolean> publishOrder(OrderMessage orderMessage, String correlationId) {
+        log.debug("Publishing order to queue: orderId={}", orderMessage.getOrderId());
 
-            rabbitTemplate.convertAndSend(exchange, routingKey, orderMessage);
+        CorrelationData correlation = new CorrelationData(correlationId);
+        rabbitTemplate.convertAndSend(exchange, routingKey, orderMessage, correlation);
 
-            log.info("Order published successfully: orderId={}", orderMessage.getOrderId());
-        } catch (Exception e) {
-            log.error("Failed to publish order: orderId={}", orderMessage.getOrderId(), e);
-            throw new RuntimeException("Failed to publish order to message queue", e);
-        }
+        return correlation.getFuture().thenApply(confirm -> {
+            if (!confirm.ack()) {
+                log.warn("Broker nacked order: orderId={}, reason={}", orderMessage.getOrderId(), confirm.reason());
+            }
+            return confirm.ack();
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package org.example.orderservice.benchmark;
+
+import org.example.orderservice.config.OrderMessageBinaryConverter;
+import org.example.orderservice.model.OrderMessage;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of an OrderMessage through the JSON converter both
+ * services used so far versus OrderMessageBinaryConverter. Payload sizes are
+ * printed before the run.
+ *
+ * Run with GC profiling (reports gc.alloc.rate.norm = bytes allocated per call):
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      org.example.orderservice.benchmark.OrderMessageCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMessageCodecBenchmark {
+
+    private JacksonJsonMessageConverter json;
+    private OrderMessageBinaryConverter binary;
+    private OrderMessage order;
+    private Message jsonMessage;
+    private Message binaryMessage;
+
+    @Setup
+    public void setUp() {
+        json = new JacksonJsonMessageConverter();
+        binary = new OrderMessageBinaryConverter();
+        order = sampleOrder();
+        jsonMessage = json.toMessage(order, new MessageProperties());
+        binaryMessage = binary.toMessage(order, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeJson() {
+        return json.toMessage(order, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binary.toMessage(order, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        // What the listener does: infer the target type from the @Payload parameter
+        return json.fromMessage(jsonMessage, OrderMessage.class);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binary.fromMessage(binaryMessage);
+    }
+
+    private static OrderMessage sampleOrder() {
+        return OrderMessage.builder()
+                .orderId(UUID.randomUUID().toString())
+                .customerId("customer-4821")
+                .productId("PROD-00172")
+                .quantity(3)
+                .price(new BigDecimal("19.99"))
+                .totalAmount(new BigDecimal("59.97"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OrderMessage order = sampleOrder();
+        System.out.printf("payload bytes: json=%d binary=%d%n",
+                new JacksonJsonMessageConverter().toMessage(order, new MessageProperties()).getBody().length,
+                new OrderMessageBinaryConverter().toMessage(order, new MessageProperties()).getBody().length);
+
+        Options options = new OptionsBuilder()
+                .include(OrderMessageCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.orderservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for POST /api/orders. It keeps {@code concurrency}
+ * requests open at once and reports throughput, latency percentiles and the
+ * peak number of requests in flight.
+ *
+ * Run against a started OrderService, with concurrency well above
+ * server.tomcat.threads.max (200) to see whether requests queue behind the
+ * thread pool:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.orderservice.loadtest.OrderLoadHarness \
+ *     -Dexec.args="http://localhost:8081/api/orders 2000 50000"
+ * </pre>
+ * Compare runs with orders.async-requests=false (one Tomcat thread per request
+ * until the outbox fsync completes) against the default async mode, or with
+ * VIRTUAL_THREADS_ENABLED=true on a Java 21 runtime.
+ */
+public class OrderLoadHarness {
+
+    private static final String BODY =
+            "{\"customerId\":\"load-%d\",\"productId\":\"P-1\",\"quantity\":1,\"price\":9.99}";
+
+    public static void main(String[] args) throws InterruptedException {
+        URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:8081/api/orders");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int total = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Semaphore window = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(total);
+        long[] latencies = new long[total];
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            window.acquire();
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(target)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(BODY.formatted(i % 1000)))
+                    .build();
+
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (error != null) {
+                            errors.incrementAndGet();
+                        } else {
+                            statuses.computeIfAbsent(response.statusCode(), code -> new AtomicInteger()).incrementAndGet();
+                        }
+                        inFlight.decrementAndGet();
+                        window.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("requests=%d concurrency=%d time=%.1fs throughput=%.0f req/s%n",
+                total, concurrency, seconds, total / seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90),
+                percentile(latencies, 99), latencies[total - 1] / 1e6);
+        System.out.printf("peak in flight=%d statuses=%s transport errors=%d%n",
+                peakInFlight.get(), statuses, errors.get());
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.orderservice.outbox;
+
+import org.example.orderservice.model.OrderMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderOutboxTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<OrderOutbox> opened = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void closeAll() throws Exception {
+        for (OrderOutbox outbox : opened) {
+            outbox.close();
+        }
+    }
+
+    @Test
+    void recoversUnconfirmedOrdersAndDropsTornTailRecord() throws Exception {
+        OrderOutbox outbox = open(100, Long.MAX_VALUE);
+        outbox.appendAll(List.of(order("a"), order("b"), order("c")));
+        outbox.confirmed(1);
+        outbox.checkpoint();
+        outbox.close();
+
+        // A crash in the middle of the next append leaves half a line behind
+        Path log = dir.resolve("orders.log");
+        Files.writeString(log, "{\"seq\":4,\"order\":{\"orderId\":\"d", StandardOpenOption.APPEND);
+
+        OrderOutbox recovered = open(100, Long.MAX_VALUE);
+        assertThat(recovered.pending()).isEqualTo(2);
+        assertThat(drain(recovered)).extracting(OutboxEntry::getSeq).containsExactly(2L, 3L);
+        assertThat(Files.readString(log)).endsWith("\n");
+
+        // The torn record's sequence number is reused and the new line starts clean
+        assertThat(recovered.append(order("e")).getSeq()).isEqualTo(4);
+        recovered.close();
+
+        OrderOutbox reopened = open(100, Long.MAX_VALUE);
+        assertThat(drain(reopened)).extracting(entry -> entry.getOrder().getOrderId())
+                .containsExactly("b", "c", "e");
+    }
+
+    @Test
+    void compactionRacingAppendsLosesNothing() throws Exception {
+        // Threshold 0: every checkpoint that advances the watermark rewrites the log
+        OrderOutbox outbox = open(100_000, 0);
+        int writers = 4;
+        int perWriter = 500;
+        Set<Long> keptUnconfirmed = ConcurrentHashMap.newKeySet();
+        CountDownLatch appended = new CountDownLatch(writers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        try {
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        outbox.append(order(writer + "-" + i));
+                    }
+                    appended.countDown();
+                    return null;
+                });
+            }
+            // Relay: holds back every 97th entry and confirms it later, so the
+            // watermark advances in jumps while appends keep coming
+            Future<?> relay = pool.submit(() -> {
+                Deque<Long> held = new ArrayDeque<>();
+                int seen = 0;
+                while (seen < writers * perWriter) {
+                    OutboxEntry entry = outbox.poll(100, TimeUnit.MILLISECONDS);
+                    if (entry == null) {
+                        continue;
+                    }
+                    seen++;
+                    if (entry.getSeq() % 97 == 0) {
+                        held.addLast(entry.getSeq());
+                    } else {
+                        outbox.confirmed(entry.getSeq());
+                    }
+                    if (held.size() > 3) {
+                        outbox.confirmed(held.removeFirst());
+                    }
+                }
+                keptUnconfirmed.addAll(held);
+                return null;
+            });
+            Future<?> checkpointer = pool.submit(() -> {
+                while (!relay.isDone()) {
+                    outbox.checkpoint();
+                }
+                return null;
+            });
+            assertThat(appended.await(30, TimeUnit.SECONDS)).isTrue();
+            relay.get(30, TimeUnit.SECONDS);
+            checkpointer.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(outbox.pending()).isEqualTo(keptUnconfirmed.size());
+        outbox.close();
+        assertThat(Files.readAllLines(dir.resolve("orders.log"))).hasSizeLessThan(writers * perWriter);
+
+        OrderOutbox recovered = open(100_000, 0);
+        List<OutboxEntry> replayed = drain(recovered);
+        Set<Long> replayedSeqs = new TreeSet<>();
+        replayed.forEach(entry -> replayedSeqs.add(entry.getSeq()));
+        assertThat(replayedSeqs).hasSize(replayed.size()).containsAll(keptUnconfirmed);
+        // Sequence numbers keep growing past everything written before the restart
+        assertThat(recovered.append(order("next")).getSeq()).isEqualTo(writers * perWriter + 1);
+    }
+
+    @Test
+    void appendsFailOnceClosed() throws Exception {
+        OrderOutbox outbox = open(100, Long.MAX_VALUE);
+        outbox.append(order("a"));
+        outbox.close();
+
+        assertThatThrownBy(() -> outbox.append(order("b")))
+                .isInstanceOf(OutboxUnavailableException.class);
+        CompletableFuture<List<OutboxEntry>> async = outbox.appendAsync(List.of(order("c")));
+        assertThat(async).isCompletedExceptionally();
+        assertThatThrownBy(async::join).hasCauseInstanceOf(OutboxUnavailableException.class);
+    }
+
+    @Test
+    void rejectsAppendsBeyondMaxPending() throws Exception {
+        OrderOutbox outbox = open(2, Long.MAX_VALUE);
+        outbox.appendAll(List.of(order("a"), order("b")));
+
+        assertThatThrownBy(() -> outbox.append(order("c")))
+                .isInstanceOf(OutboxUnavailableException.class);
+        assertThat(outbox.pending()).isEqualTo(2);
+
+        outbox.confirmed(1);
+        assertThat(outbox.append(order("c")).getSeq()).isEqualTo(3);
+    }
+
+    private OrderOutbox open(int maxPending, long compactThreshold) throws IOException {
+        OrderOutbox outbox = new OrderOutbox(jsonMapper, dir.toString(), false, maxPending, compactThreshold);
+        opened.add(outbox);
+        return outbox;
+    }
+
+    private static List<OutboxEntry> drain(OrderOutbox outbox) throws InterruptedException {
+        List<OutboxEntry> entries = new ArrayList<>();
+        OutboxEntry entry;
+        while ((entry = outbox.poll(0, TimeUnit.MILLISECONDS)) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static OrderMessage order(String orderId) {
+        return OrderMessage.builder()
+                .orderId(orderId)
+                .customerId("customer-1")
+                .productId("product-1")
+                .quantity(1)
+                .price(BigDecimal.TEN)
+                .totalAmount(BigDecimal.TEN)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+    }
+}
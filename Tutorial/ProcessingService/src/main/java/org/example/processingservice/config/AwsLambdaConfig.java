@@ -1,19 +1,33 @@
 package org.example.processingservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClientBuilder;
+
+import java.net.URI;
 
 @Configuration
 public class AwsLambdaConfig {
 
     @Bean
-    public LambdaClient lambdaClient() {
-        return LambdaClient.builder()
+    public LambdaAsyncClient lambdaAsyncClient(LambdaLoggerProperties properties,
+                                               @Value("${aws.lambda.endpoint:}") String endpoint) {
+        LambdaAsyncClientBuilder builder = LambdaAsyncClient.builder()
                 .region(Region.EU_NORTH_1) // MUST MATCH YOUR LAMBDA REGION
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .overrideConfiguration(config -> config.apiCallTimeout(properties.getInvokeTimeout()));
+
+        if (endpoint.isBlank()) {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        } else {
+            // Local stand-in (see LambdaStubController); no AWS account needed
+            builder.endpointOverride(URI.create(endpoint))
+                    .credentialsProvider(AnonymousCredentialsProvider.create());
+        }
+        return builder.build();
     }
 }
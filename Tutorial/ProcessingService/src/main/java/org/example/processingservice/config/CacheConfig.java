@@ -0,0 +1,31 @@
+package org.example.processingservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for order reads, each with its own size and TTL. Stats are
+ * recorded so they show up as cache.* meters on /actuator/metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDERS = "orders";
+    public static final String CUSTOMER_ORDERS = "customerOrders";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> orderCaches(
+            @Value("${processing.cache.orders.spec:maximumSize=10000,expireAfterWrite=10m}") String ordersSpec,
+            @Value("${processing.cache.customer-orders.spec:maximumSize=2000,expireAfterWrite=30s}") String customerOrdersSpec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(ORDERS, Caffeine.from(ordersSpec).recordStats().build());
+            cacheManager.registerCustomCache(CUSTOMER_ORDERS, Caffeine.from(customerOrdersSpec).recordStats().build());
+        };
+    }
+}
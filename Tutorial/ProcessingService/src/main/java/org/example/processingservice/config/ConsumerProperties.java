@@ -0,0 +1,46 @@
+package org.example.processingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Order consumer tuning. With auto-tune off, Spring AMQP scales between
+ * concurrency and maxConcurrency on its own; with it on, ConsumerAutoTuner
+ * owns the consumer count within the same bounds.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rabbitmq.consumer")
+public class ConsumerProperties {
+    private int prefetch = 50;
+    private int concurrency = 2;
+    private int maxConcurrency = 8;
+    // Completed deliveries acked together with basicAck(tag, multiple=true); at most prefetch / 2
+    private int ackBatchSize = 20;
+    // Longest a completed delivery waits for its batched ack
+    private Duration ackFlushInterval = Duration.ofMillis(500);
+    private AutoTune autoTune = new AutoTune();
+    private Batch batch = new Batch();
+
+    @Data
+    public static class AutoTune {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(10);
+        // Above this the downstream (DB, Kafka, ...) is the bottleneck, so more consumers won't help
+        private Duration targetLatency = Duration.ofMillis(200);
+        // Queue depth per consumer that counts as a backlog worth scaling up for
+        private int backlogPerConsumer = 100;
+    }
+
+    @Data
+    public static class Batch {
+        // Replaces the per-message listener with OrderBatchListener
+        private boolean enabled = false;
+        private int size = 50;
+        // A partial batch is handed over after waiting this long for more messages
+        private Duration receiveTimeout = Duration.ofMillis(200);
+    }
+}
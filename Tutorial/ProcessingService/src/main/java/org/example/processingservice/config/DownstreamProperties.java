@@ -0,0 +1,59 @@
+package org.example.processingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Inventory and payment backends. Each one either calls a real service over
+ * HTTP (mode: http) or uses an in-process stand-in (mode: simulated) whose
+ * latency and failure rate can be tuned for load tests.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "processing.clients")
+public class DownstreamProperties {
+    private Client inventory = new Client(0.10);
+    private Client payment = new Client(0.05);
+
+    @Data
+    public static class Client {
+        private String mode = "simulated";
+        private Http http = new Http();
+        private Simulated simulated = new Simulated();
+
+        public Client() {
+        }
+
+        Client(double failureRate) {
+            simulated.setFailureRate(failureRate);
+        }
+    }
+
+    @Data
+    public static class Http {
+        private String baseUrl;
+        private Duration connectTimeout = Duration.ofMillis(500);
+        // Time to wait for a response once the request is sent
+        private Duration readTimeout = Duration.ofSeconds(2);
+        // Pool size; every consumer may have one call to each backend in flight
+        private int maxConnections = 50;
+        private Duration idleTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Simulated {
+        private Distribution distribution = Distribution.LOG_NORMAL;
+        private Duration median = Duration.ofMillis(20);
+        // Ignored for FIXED; upper bound for UNIFORM
+        private Duration p99 = Duration.ofMillis(150);
+        // Share of calls that are rejected (out of stock / payment declined)
+        private double failureRate;
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, LOG_NORMAL
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.processingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Shipping of order log lines to the logger Lambda. Lines are queued in
+ * memory and sent in batches from a background thread; they are best effort
+ * and are lost if the queue overflows or the process dies.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "aws.lambda.logger")
+public class LambdaLoggerProperties {
+    private String functionName = "spring-poc-logger";
+    private int queueCapacity = 10_000;
+    // Log lines per invocation
+    private int batchSize = 100;
+    // How long a partial batch waits for more lines
+    private Duration linger = Duration.ofSeconds(1);
+    private int maxInFlight = 4;
+    private Duration invokeTimeout = Duration.ofSeconds(10);
+    private OverflowPolicy overflow = OverflowPolicy.DROP_NEWEST;
+    // With BLOCK: how long a caller waits for space before the line is dropped
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST, BLOCK
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.processingservice.config;
+
+import org.example.processingservice.model.OrderMessage;
+import org.example.processingservice.model.OrderMessageCodec;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Decodes {@link OrderMessage} payloads that OrderService sends with
+ * {@link #CONTENT_TYPE}. Registered behind a content-type delegating converter
+ * so JSON messages keep working while producers switch over.
+ */
+public class OrderMessageBinaryConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.order-message.v1+binary";
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof OrderMessage orderMessage)) {
+            throw new MessageConversionException("Binary encoding only supports OrderMessage, got "
+                    + object.getClass().getName());
+        }
+        byte[] body = OrderMessageCodec.encode(orderMessage);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        try {
+            return OrderMessageCodec.decode(message.getBody());
+        } catch (RuntimeException e) {
+            throw new MessageConversionException("Failed to decode binary OrderMessage", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.processingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PipelineConfig {
+
+    /**
+     * Runs the order steps. Consumers can start more steps at once than it
+     * holds (max-concurrency x batch-concurrency x steps in batch mode), so
+     * OrderPipeline keeps at most queue-capacity steps submitted and makes
+     * consumers wait for room beyond that, instead of failing orders.
+     * A step is never run on the consumer thread, where its deadline could
+     * not be enforced: AbortPolicy only applies once the pool is shut down.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor orderStepExecutor(
+            @Value("${processing.pipeline.threads:16}") int threads,
+            @Value("${processing.pipeline.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-step-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
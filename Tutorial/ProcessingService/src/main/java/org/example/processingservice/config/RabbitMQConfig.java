@@ -1,6 +1,7 @@
 package org.example.processingservice.config;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
@@ -9,23 +10,57 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
 
+    // JSON by default; binary OrderMessages are picked by their content type
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new JacksonJsonMessageConverter();
+    public MessageConverter messageConverter() {
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(new JacksonJsonMessageConverter());
+        converter.addDelegate(OrderMessageBinaryConverter.CONTENT_TYPE, new OrderMessageBinaryConverter());
+        return converter;
     }
 
 
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
             ConnectionFactory connectionFactory,
-            MessageConverter messageConverter
+            MessageConverter messageConverter,
+            ConsumerProperties consumerProperties
+    ) {
+        return containerFactory(connectionFactory, messageConverter, consumerProperties);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            ConsumerProperties consumerProperties
+    ) {
+        ConsumerProperties.Batch batch = consumerProperties.getBatch();
+        SimpleRabbitListenerContainerFactory factory =
+                containerFactory(connectionFactory, messageConverter, consumerProperties);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batch.getSize());
+        factory.setReceiveTimeout(batch.getReceiveTimeout().toMillis());
+        // A batch can only fill up if the broker lets that many deliveries be unacked
+        factory.setPrefetchCount(Math.max(consumerProperties.getPrefetch(), batch.getSize()));
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory containerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            ConsumerProperties consumerProperties
     ) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter);
-        factory.setConcurrentConsumers(1);
-        factory.setMaxConcurrentConsumers(3);
-        factory.setPrefetchCount(1);
+        factory.setConcurrentConsumers(consumerProperties.getConcurrency());
+        if (!consumerProperties.getAutoTune().isEnabled()) {
+            // Otherwise ConsumerAutoTuner decides the consumer count
+            factory.setMaxConcurrentConsumers(consumerProperties.getMaxConcurrency());
+        }
+        factory.setPrefetchCount(consumerProperties.getPrefetch());
         return factory;
     }
-}
\ No newline at end of file
+}
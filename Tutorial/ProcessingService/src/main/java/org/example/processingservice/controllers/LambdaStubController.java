@@ -0,0 +1,23 @@
+package org.example.processingservice.controllers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Answers Lambda Invoke calls locally so the log shipping can run without
+ * AWS. Point aws.lambda.endpoint at this service and enable the stub.
+ */
+@RestController
+@ConditionalOnProperty(name = "aws.lambda.stub.enabled", havingValue = "true")
+@Slf4j
+public class LambdaStubController {
+
+    @PostMapping("/2015-03-31/functions/{functionName}/invocations")
+    public ResponseEntity<Void> invoke(@PathVariable String functionName, @RequestBody String payload) {
+        log.info("Lambda stub invoked: function={}, payload={}", functionName, payload);
+        // Asynchronous (Event) invocations are answered with 202 and no body
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -2,45 +2,123 @@ package org.example.processingservice.controllers;
 import lombok.RequiredArgsConstructor;
 import org.example.processingservice.model.Order;
 import org.example.processingservice.model.OrderStatus;
+import org.example.processingservice.model.dto.OrderCursor;
+import org.example.processingservice.model.dto.OrderSummary;
 import org.example.processingservice.persistence.OrderRepository;
+import org.example.processingservice.service.OrderExportService;
+import org.example.processingservice.service.OrderQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * List endpoints return one keyset page as a JSON array of summaries. When
+ * there are more rows, the X-Next-Cursor header holds the cursor to pass as
+ * ?cursor= for the next page.
+ */
 @RestController
 @RequestMapping("/api/processing")
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderRepository.findAll());
+    public ResponseEntity<List<OrderSummary>> getAllOrders(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        return page(cursor, limit,
+                orderRepository::findSummaries,
+                (after, pageLimit) -> orderRepository.findSummariesAfter(after.createdAt(), after.orderId(), pageLimit));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                // Never buffer or cache the export on the way out (e.g. in the gateway)
+                .cacheControl(CacheControl.noStore())
+                .body(orderExportService::exportAll);
     }
 
     @GetMapping("/{orderId}")
     public ResponseEntity<Order> getOrder(@PathVariable String orderId) {
-        return orderRepository.findById(orderId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        Order order = orderQueryService.findOrder(orderId);
+        return order != null ? ResponseEntity.ok(order) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Order>> getOrdersByCustomer(@PathVariable String customerId) {
-        return ResponseEntity.ok(orderRepository.findByCustomerId(customerId));
+    public ResponseEntity<List<OrderSummary>> getOrdersByCustomer(@PathVariable String customerId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "50") int limit) {
+        return page(cursor, limit,
+                pageLimit -> limit == OrderQueryService.CACHED_PAGE_SIZE
+                        ? orderQueryService.findFirstCustomerPage(customerId)
+                        : orderRepository.findSummariesByCustomer(customerId, pageLimit),
+                (after, pageLimit) -> orderRepository.findSummariesByCustomerAfter(
+                        customerId, after.createdAt(), after.orderId(), pageLimit));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable String status) {
+    public ResponseEntity<List<OrderSummary>> getOrdersByStatus(@PathVariable String status,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int limit) {
         OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-        return ResponseEntity.ok(orderRepository.findByStatus(orderStatus));
+        return page(cursor, limit,
+                pageLimit -> orderRepository.findSummariesByStatus(orderStatus, pageLimit),
+                (after, pageLimit) -> orderRepository.findSummariesByStatusAfter(
+                        orderStatus, after.createdAt(), after.orderId(), pageLimit));
     }
 
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Processing Service is running");
     }
-}
\ No newline at end of file
+
+    /** Fetches one row more than requested to find out whether there is a next page. */
+    private static ResponseEntity<List<OrderSummary>> page(String cursor, int limit,
+                                                           Function<Limit, List<OrderSummary>> first,
+                                                           BiFunction<OrderCursor, Limit, List<OrderSummary>> after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Limit pageLimit = Limit.of(limit + 1);
+        List<OrderSummary> rows = cursor == null || cursor.isBlank()
+                ? first.apply(pageLimit)
+                : after.apply(decode(cursor), pageLimit);
+
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok(rows);
+        }
+        List<OrderSummary> page = rows.subList(0, limit);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, OrderCursor.after(page.get(limit - 1)).encode())
+                .body(page);
+    }
+
+    private static OrderCursor decode(String cursor) {
+        try {
+            return OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
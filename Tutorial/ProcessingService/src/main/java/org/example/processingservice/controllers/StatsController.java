@@ -0,0 +1,67 @@
+package org.example.processingservice.controllers;
+
+import org.example.processingservice.model.dto.OrderTotals;
+import org.example.processingservice.service.stats.OrderStatsStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Dashboard totals, served from memory (see OrderStatsStore). */
+@RestController
+@RequestMapping("/api/processing/stats")
+public class StatsController {
+
+    private static final int MAX_TOP = 1000;
+    private static final int MAX_HOURS = 24 * 31;
+
+    @Autowired
+    private OrderStatsStore orderStatsStore;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", orderStatsStore.total());
+        response.put("byStatus", orderStatsStore.byStatus());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/customers")
+    public ResponseEntity<Map<String, OrderTotals>> getTopCustomers(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(orderStatsStore.topCustomers(bounded("top", top, MAX_TOP)));
+    }
+
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<OrderTotals> getCustomerStats(@PathVariable String customerId) {
+        OrderTotals totals = orderStatsStore.customer(customerId);
+        return totals != null ? ResponseEntity.ok(totals) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<Map<String, OrderTotals>> getTopProducts(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(orderStatsStore.topProducts(bounded("top", top, MAX_TOP)));
+    }
+
+    @GetMapping("/products/{productId}")
+    public ResponseEntity<OrderTotals> getProductStats(@PathVariable String productId) {
+        OrderTotals totals = orderStatsStore.product(productId);
+        return totals != null ? ResponseEntity.ok(totals) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/timeline")
+    public ResponseEntity<Map<LocalDateTime, OrderTotals>> getTimeline(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(orderStatsStore.timeline(bounded("hours", hours, MAX_HOURS)));
+    }
+
+    private static int bounded(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be between 1 and " + max);
+        }
+        return value;
+    }
+}
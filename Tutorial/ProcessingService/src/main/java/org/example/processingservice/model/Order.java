@@ -10,7 +10,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+// Schema and indexes are managed by Flyway (db/migration); these mirror them
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created", columnList = "created_at DESC, order_id DESC"),
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at DESC, order_id DESC"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at DESC, order_id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -47,7 +52,6 @@ public class Order {
 
     private String errorMessage;
 
-
     public static Order fromMessage(OrderMessage message) {
         return Order.builder()
                 .orderId(message.getOrderId())
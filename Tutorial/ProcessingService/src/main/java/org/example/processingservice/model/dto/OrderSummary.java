@@ -0,0 +1,24 @@
+package org.example.processingservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.processingservice.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * List view of an order. Queried as a projection, so no entities are
+ * loaded into the persistence context for list pages.
+ */
+@Data
+@AllArgsConstructor
+public class OrderSummary {
+    private String orderId;
+    private String customerId;
+    private String productId;
+    private Integer quantity;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package org.example.processingservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/** Order counts and amounts for one slice (status, customer, product, hour). */
+@Data
+@AllArgsConstructor
+public class OrderTotals {
+    private long orders;
+    private long completed;
+    private long failed;
+    // Sum of totalAmount over all orders in the slice
+    private BigDecimal amount;
+    // Sum of totalAmount over completed orders only
+    private BigDecimal revenue;
+}
@@ -0,0 +1,27 @@
+package org.example.processingservice.persistence;
+
+import org.example.processingservice.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Claim writes of OrderProcessingService. Each call is one JDBC batch, so a
+ * batch of orders costs one round trip however many rows it touches.
+ */
+public interface OrderClaimRepository {
+
+    /**
+     * Inserts each order unless one with the same id exists, relying on the
+     * primary key instead of a prior existence check. Used with status
+     * PROCESSING to claim orders before their pipelines run. Returns the
+     * orders that were inserted.
+     */
+    List<Order> insertClaims(List<Order> orders);
+
+    /** Takes over the stale claims among the orders; returns the ones this caller now owns. */
+    List<Order> reclaim(List<Order> orders, LocalDateTime staleBefore, LocalDateTime now);
+
+    /** Records the pipelines' outcomes; returns the orders whose claim was still PROCESSING. */
+    List<Order> finishClaims(List<Order> orders);
+}
@@ -0,0 +1,77 @@
+package org.example.processingservice.persistence;
+
+import org.example.processingservice.model.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JDBC side of {@link OrderRepository}. The statements go out with
+ * JdbcTemplate.batchUpdate and each row's update count tells whether it
+ * applied, which needs the driver to report per-statement counts (the
+ * Postgres driver does unless reWriteBatchedInserts is on). created_at is in
+ * every predicate so Postgres only touches the order's monthly partition.
+ */
+class OrderClaimRepositoryImpl implements OrderClaimRepository {
+
+    private static final String INSERT_CLAIM = """
+            INSERT INTO orders (order_id, customer_id, product_id, quantity, price, total_amount,
+                                created_at, processed_at, status, error_message)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String RECLAIM = """
+            UPDATE orders SET processed_at = ?
+            WHERE order_id = ? AND created_at = ? AND status = 'PROCESSING' AND processed_at < ?
+            """;
+
+    private static final String FINISH_CLAIM = """
+            UPDATE orders SET status = ?, error_message = ?, processed_at = ?
+            WHERE order_id = ? AND created_at = ? AND status = 'PROCESSING'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderClaimRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Order> insertClaims(List<Order> orders) {
+        return applied(INSERT_CLAIM, orders, order -> new Object[]{
+                order.getOrderId(), order.getCustomerId(), order.getProductId(), order.getQuantity(),
+                order.getPrice(), order.getTotalAmount(), order.getCreatedAt(), order.getProcessedAt(),
+                order.getStatus().name(), order.getErrorMessage()});
+    }
+
+    @Override
+    public List<Order> reclaim(List<Order> orders, LocalDateTime staleBefore, LocalDateTime now) {
+        return applied(RECLAIM, orders, order -> new Object[]{
+                now, order.getOrderId(), order.getCreatedAt(), staleBefore});
+    }
+
+    @Override
+    public List<Order> finishClaims(List<Order> orders) {
+        return applied(FINISH_CLAIM, orders, order -> new Object[]{
+                order.getStatus().name(), order.getErrorMessage(), order.getProcessedAt(),
+                order.getOrderId(), order.getCreatedAt()});
+    }
+
+    private List<Order> applied(String sql, List<Order> orders, Function<Order, Object[]> parameters) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        int[] counts = jdbcTemplate.batchUpdate(sql, orders.stream().map(parameters).toList());
+        List<Order> applied = new ArrayList<>(orders.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                applied.add(orders.get(i));
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.processingservice.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly orders partitions created ahead of time (see
+ * V1__create_partitioned_orders.sql), so new rows never land in the default
+ * partition. Creating a partition that exists is a no-op, so every instance
+ * may run this.
+ */
+@Component
+@ConditionalOnProperty(name = "processing.partitions.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderPartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public OrderPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                    @Value("${processing.partitions.months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${processing.partitions.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                jdbcTemplate.queryForList("SELECT create_orders_partition(?)", Date.valueOf(month.plusMonths(i)));
+            } catch (RuntimeException e) {
+                log.error("Failed to create orders partition for {}", month.plusMonths(i), e);
+            }
+        }
+    }
+}
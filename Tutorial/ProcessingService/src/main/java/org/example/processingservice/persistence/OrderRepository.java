@@ -1,13 +1,96 @@
 package org.example.processingservice.persistence;
 import org.example.processingservice.model.Order;
 import org.example.processingservice.model.OrderStatus;
+import org.example.processingservice.model.dto.OrderSummary;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String> {
-    List<Order> findByCustomerId(String customerId);
-    List<Order> findByStatus(OrderStatus status);
-}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, String>, OrderClaimRepository {
+    // Keyset pages of summaries, newest first. (createdAt, orderId) is unique,
+    // so a page starts right after the previous page's last row without OFFSET.
+    // The row-value comparison lets the database range-scan the
+    // (..., created_at desc, order_id desc) indexes; the equivalent OR form can't.
+    String SUMMARY = "select new org.example.processingservice.model.dto.OrderSummary("
+            + "o.orderId, o.customerId, o.productId, o.quantity, o.totalAmount, o.status, o.createdAt) from Order o ";
+    String AFTER_CURSOR = "(o.createdAt, o.orderId) < (:createdAt, :orderId) ";
+    String NEWEST_FIRST = "order by o.createdAt desc, o.orderId desc";
+
+    @Query(SUMMARY + NEWEST_FIRST)
+    List<OrderSummary> findSummaries(Limit limit);
+
+    @Query(SUMMARY + "where " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("orderId") String orderId, Limit limit);
+
+    @Query(SUMMARY + "where o.customerId = :customerId " + NEWEST_FIRST)
+    List<OrderSummary> findSummariesByCustomer(@Param("customerId") String customerId, Limit limit);
+
+    @Query(SUMMARY + "where o.customerId = :customerId and " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummary> findSummariesByCustomerAfter(@Param("customerId") String customerId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("orderId") String orderId, Limit limit);
+
+    @Query(SUMMARY + "where o.status = :status " + NEWEST_FIRST)
+    List<OrderSummary> findSummariesByStatus(@Param("status") OrderStatus status, Limit limit);
+
+    @Query(SUMMARY + "where o.status = :status and " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummary> findSummariesByStatusAfter(@Param("status") OrderStatus status,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("orderId") String orderId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Order> streamAllByOrderByCreatedAtAscOrderIdAsc();
+
+    // Totals per (key, status) for rebuilding OrderStatsStore; claimed but unfinished orders are left out
+    String FINISHED = "o.status <> org.example.processingservice.model.OrderStatus.PROCESSING ";
+
+    @Query("select o.status, count(o), sum(o.totalAmount) from Order o where " + FINISHED + "group by o.status")
+    List<Object[]> sumByStatus();
+
+    @Query("select o.customerId, o.status, count(o), sum(o.totalAmount) from Order o "
+            + "where " + FINISHED + "group by o.customerId, o.status")
+    List<Object[]> sumByCustomerAndStatus();
+
+    @Query("select o.productId, o.status, count(o), sum(o.totalAmount) from Order o "
+            + "where " + FINISHED + "group by o.productId, o.status")
+    List<Object[]> sumByProductAndStatus();
+
+    @Query(value = """
+            SELECT date_trunc('hour', created_at), status, count(*), sum(total_amount)
+            FROM orders
+            WHERE created_at >= :since AND status <> 'PROCESSING'
+            GROUP BY 1, 2
+            """, nativeQuery = true)
+    List<Object[]> sumByHourAndStatus(@Param("since") LocalDateTime since);
+
+    @Query("select o.orderId from Order o where o.orderId in :ids and " + FINISHED)
+    List<String> findFinishedIds(@Param("ids") Collection<String> ids);
+
+    // Claims left PROCESSING since before staleBefore: the instance running them died or hung
+    String STALE_CLAIM = "o.status = org.example.processingservice.model.OrderStatus.PROCESSING "
+            + "and o.processedAt < :staleBefore";
+
+    @Query("select o from Order o where " + STALE_CLAIM + " order by o.processedAt")
+    List<Order> findStaleClaims(@Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    /** Drops claims whose pipeline failed for a technical reason, so a redelivery can claim them again. */
+    @Modifying
+    @Query("delete from Order o where o.orderId in :orderIds "
+            + "and o.status = org.example.processingservice.model.OrderStatus.PROCESSING")
+    int releaseClaims(@Param("orderIds") Collection<String> orderIds);
+}
@@ -0,0 +1,177 @@
+package org.example.processingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.config.LambdaLoggerProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes order log lines off the processing thread. {@link #ship} only puts
+ * the line on a bounded queue; a background thread sends them to the logger
+ * Lambda in batches, with at most {@code max-in-flight} invocations pending.
+ * When the queue is full the overflow policy decides which line is lost (or
+ * how long the caller may wait). Failed invocations are not retried.
+ */
+@Component
+@Slf4j
+public class LambdaLogShipper implements SmartLifecycle {
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final LambdaService lambdaService;
+    private final LambdaLoggerProperties properties;
+    private final BlockingQueue<String> queue;
+    private final Semaphore inFlight;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public LambdaLogShipper(LambdaService lambdaService, LambdaLoggerProperties properties) {
+        this.lambdaService = lambdaService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+    }
+
+    /** Queues a line for the logger Lambda; returns false if it was dropped. */
+    public boolean ship(String line) {
+        boolean queued = switch (properties.getOverflow()) {
+            case DROP_NEWEST -> queue.offer(line);
+            case DROP_OLDEST -> {
+                while (!queue.offer(line)) {
+                    if (queue.poll() != null) {
+                        dropped();
+                    }
+                }
+                yield true;
+            }
+            case BLOCK -> {
+                try {
+                    yield queue.offer(line, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    yield false;
+                }
+            }
+        };
+        if (!queued) {
+            dropped();
+        }
+        return queued;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    private void dropped() {
+        long count = dropped.incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            log.warn("Lambda log queue full, {} lines dropped so far", count);
+        }
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        long lingerNanos = properties.getLinger().toNanos();
+        List<String> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Give a partial batch a little time to fill up (not when shutting down)
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    String next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                send(List.copyOf(batch));
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(List<String> lines) {
+        try {
+            lambdaService.invokeLogger(lines).whenComplete((response, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    failed.addAndGet(lines.size());
+                    log.error("Failed to invoke logger lambda ({} lines): {}", lines.size(), error.getMessage());
+                } else {
+                    log.debug("Logger lambda invoked with {} lines, status code: {}", lines.size(), response.statusCode());
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failed.addAndGet(lines.size());
+            log.error("Failed to invoke logger lambda ({} lines): {}", lines.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "lambda-log-shipper");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Let the worker send what is queued, then wait for pending invocations
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+            if (inFlight.tryAcquire(properties.getMaxInFlight(), SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                inFlight.release(properties.getMaxInFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker.interrupt();
+        if (!queue.isEmpty()) {
+            log.warn("Lambda log shipper stopped with {} lines unsent", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,41 +1,47 @@
 package org.example.processingservice.service;
 
+import org.example.processingservice.config.LambdaLoggerProperties;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.model.InvocationType;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LambdaService {
 
-    private final LambdaClient lambdaClient;
+    private final LambdaAsyncClient lambdaClient;
+    private final String functionName;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    public LambdaService(LambdaClient lambdaClient) {
+    public LambdaService(LambdaAsyncClient lambdaClient, LambdaLoggerProperties properties) {
         this.lambdaClient = lambdaClient;
+        this.functionName = properties.getFunctionName();
     }
 
-    public String invokeLogger(String message) throws Exception {
+    /**
+     * Sends several log lines in one asynchronous invocation. "message" keeps
+     * the single-line shape the function already reads, with one line per
+     * entry; "messages" carries them individually.
+     */
+    public CompletableFuture<InvokeResponse> invokeLogger(List<String> messages) {
 
         String payload = mapper.writeValueAsString(
-                Map.of("message", message)
+                Map.of("message", String.join("\n", messages), "messages", messages)
         );
 
         InvokeRequest request = InvokeRequest.builder()
-                .functionName("spring-poc-logger")
+                .functionName(functionName)
                 .invocationType(InvocationType.EVENT)
                 .payload(SdkBytes.fromUtf8String(payload))
                 .build();
 
-        InvokeResponse response = lambdaClient.invoke(request);
-
-        System.out.println("Lambda invoked with status code: " + response.statusCode());
-
-        return response.payload().asUtf8String();
+        return lambdaClient.invoke(request);
     }
 }
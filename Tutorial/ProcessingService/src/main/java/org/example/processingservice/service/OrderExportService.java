@@ -0,0 +1,66 @@
+package org.example.processingservice.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.model.Order;
+import org.example.processingservice.persistence.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes every order as newline-delimited JSON. Rows come from a database
+ * cursor (fetch size on the query) and each entity is detached once written,
+ * so memory use does not grow with the table.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final byte NEWLINE = '\n';
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Postgres only streams with a fetch size inside a transaction
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public void exportAll(OutputStream out) {
+        long count = readOnly.execute(status -> {
+            try (Stream<Order> orders = orderRepository.streamAllByOrderByCreatedAtAscOrderIdAsc()) {
+                long written = 0;
+                for (Order order : (Iterable<Order>) orders::iterator) {
+                    out.write(objectMapper.writeValueAsBytes(order));
+                    out.write(NEWLINE);
+                    entityManager.detach(order);
+                    if (++written % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} orders", count);
+    }
+}
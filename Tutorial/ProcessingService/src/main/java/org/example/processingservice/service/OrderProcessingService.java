@@ -10,12 +10,40 @@ import org.example.processingservice.model.OrderMessage;
 import org.example.processingservice.model.OrderStatus;
 import org.example.processingservice.persistence.OrderRepository;
 import org.example.processingservice.service.kafka.FaasTriggerPublisher;
+import org.example.processingservice.service.idempotency.OrderIdempotencyFilter;
 import org.example.processingservice.service.kafka.OrderEventPublisher;
+import org.example.processingservice.service.pipeline.OrderPipeline;
+import org.example.processingservice.service.stats.OrderStatsStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Stores each order before any remote step runs: the row is inserted as
+ * PROCESSING in a short transaction, which is the claim. Only the claim's
+ * owner runs the pipeline, outside any transaction, and then records the
+ * outcome in a second short transaction. A delivery that finds the row
+ * already there is a duplicate and does nothing, so it can never undo the
+ * steps of the order that was stored.
+ *
+ * A claim left PROCESSING for longer than {@code processing.pipeline.claim-timeout}
+ * belongs to an instance that died mid-pipeline; a redelivery takes it over,
+ * and so does {@link #resumeStaleClaims} for claims whose message is gone.
+ * The new owner runs the steps again, and they may already have succeeded:
+ * steps are keyed by order id (see OrderStep), so a repeat gives the first
+ * outcome instead of reserving or authorizing twice.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -24,55 +52,190 @@ public class OrderProcessingService {
     private final OrderRepository orderRepository;
     private final OrderEventPublisher orderEventPublisher;
     private final FaasTriggerPublisher faasTriggerPublisher;
-    private final LambdaService lambdaService;
+    private final LambdaLogShipper lambdaLogShipper;
+    private final OrderIdempotencyFilter idempotencyFilter;
+    private final OrderPipeline orderPipeline;
+    private final TransactionalEventBuffer eventBuffer;
+    private final OrderStatsStore orderStatsStore;
+    private final OrderQueryService orderQueryService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Well above the slowest step timeout, so a live owner never loses its claim
+    @Value("${processing.pipeline.claim-timeout:30s}")
+    private Duration claimTimeout;
+
+    // Orders of one batch whose pipelines are started together; OrderPipeline
+    // holds them back while the step pool is full
+    @Value("${processing.pipeline.batch-concurrency:25}")
+    private int batchConcurrency;
 
-    @Transactional
     public void processOrder(OrderMessage message) {
         log.info("Processing order: orderId={}", message.getOrderId());
 
-        // Simulate some business logic processing
         try {
-            // Check for duplicate
-            if (orderRepository.existsById(message.getOrderId())) {
+            // Only finished orders are recorded by the filter, so it never hides an unfinished claim
+            if (idempotencyFilter.seen(message.getOrderId())) {
                 log.warn("Duplicate order detected: orderId={}", message.getOrderId());
                 return; // Idempotent - skip duplicates
             }
 
-            // Create order entity
-            Order order = Order.fromMessage(message);
-            order.setStatus(OrderStatus.COMPLETED);
+            List<Order> claimed = claim(List.of(Order.fromMessage(message)));
+            if (claimed.isEmpty()) {
+                log.warn("Duplicate order detected on insert: orderId={}", message.getOrderId());
+                return;
+            }
+            run(claimed, true);
 
-            // Simulate inventory check
-            if (!checkInventory(message.getProductId(), message.getQuantity())) {
-                throw new InsufficientInventoryException("Product " + message.getProductId() + " out of stock");
+        } catch (Exception e) {
+            log.error("Unexpected error processing order: orderId={}", message.getOrderId(), e);
+            throw new RuntimeException("Failed to process order", e);
+        }
+    }
+
+    /**
+     * Processes a batch: every new order is claimed with one batched insert
+     * (duplicates are skipped by the primary key), the pipelines run
+     * concurrently, batchConcurrency orders at a time, and the outcomes are
+     * stored with one batched update. If an order fails for a technical reason
+     * its claim is released and the batch fails after the others are stored;
+     * the caller then falls back to processOrder, which treats the stored ones
+     * as duplicates.
+     */
+    public void processBatch(List<OrderMessage> messages) {
+        Map<String, Order> byId = new LinkedHashMap<>();
+        messages.forEach(message -> byId.putIfAbsent(message.getOrderId(), Order.fromMessage(message)));
+        byId.keySet().removeIf(idempotencyFilter::seen);
+
+        List<Order> claimed = byId.isEmpty() ? List.of() : claim(List.copyOf(byId.values()));
+        int duplicates = messages.size() - claimed.size();
+        if (duplicates > 0) {
+            log.warn("Skipping {} duplicate orders in batch", duplicates);
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        run(claimed, true);
+        log.info("Batch of {} orders processed ({} duplicates skipped)", claimed.size(), duplicates);
+    }
+
+    /** Finishes orders left PROCESSING by an instance that stopped before storing their outcome. */
+    @Scheduled(fixedDelayString = "${processing.pipeline.claim-timeout:30s}",
+            initialDelayString = "${processing.pipeline.claim-timeout:30s}")
+    public void resumeStaleClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> reclaimed = transactionTemplate.execute(status -> orderRepository.reclaim(
+                orderRepository.findStaleClaims(now.minus(claimTimeout), Limit.of(batchConcurrency)),
+                now.minus(claimTimeout), now));
+        if (reclaimed.isEmpty()) {
+            return;
+        }
+        log.warn("Resuming {} orders whose processing was abandoned", reclaimed.size());
+        try {
+            // No message to retry here; a failed claim stays PROCESSING and goes stale again
+            run(reclaimed, false);
+        } catch (RuntimeException e) {
+            log.error("Failed to resume abandoned orders", e);
+        }
+    }
+
+    /**
+     * Inserts a PROCESSING row for each order in one batch, then takes over
+     * whichever of the rest hold a stale claim. Returns the orders this
+     * caller now owns.
+     */
+    private List<Order> claim(List<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        orders.forEach(order -> order.setStatus(OrderStatus.PROCESSING));
+        return transactionTemplate.execute(status -> {
+            List<Order> claimed = new ArrayList<>(orderRepository.insertClaims(orders));
+            if (claimed.size() < orders.size()) {
+                Set<String> inserted = claimed.stream().map(Order::getOrderId).collect(Collectors.toSet());
+                List<Order> existing = orders.stream().filter(order -> !inserted.contains(order.getOrderId())).toList();
+                claimed.addAll(orderRepository.reclaim(existing, now.minus(claimTimeout), now));
             }
+            return claimed;
+        });
+    }
+
+    /**
+     * Runs the pipelines of claimed orders, no more than batchConcurrency at a
+     * time, and stores the outcomes. The first technical failure is rethrown
+     * once the rest are stored; with releaseOnFailure the failed claims are
+     * dropped first so the redelivered message can claim them again.
+     */
+    private void run(List<Order> claimed, boolean releaseOnFailure) {
+        List<Order> finished = new ArrayList<>(claimed.size());
+        List<Order> failed = new ArrayList<>();
+        RuntimeException failure = null;
 
-            // Simulate payment processing
-            if (!processPayment(message.getCustomerId(), message.getTotalAmount())) {
-                throw new PaymentFailedException("Payment failed for customer " + message.getCustomerId());
+        for (int from = 0; from < claimed.size(); from += batchConcurrency) {
+            List<Order> window = claimed.subList(from, Math.min(from + batchConcurrency, claimed.size()));
+            List<OrderPipeline.Execution> executions = window.stream().map(orderPipeline::start).toList();
+            for (int i = 0; i < window.size(); i++) {
+                Order order = window.get(i);
+                try {
+                    evaluate(order, executions.get(i));
+                    finished.add(order);
+                } catch (RuntimeException e) {
+                    failed.add(order);
+                    failure = failure != null ? failure : e;
+                }
             }
+        }
 
-            // Save to database
-            orderEventPublisher.publish(new OrderCreatedEvent(orderRepository.save(order)));
-            sendEmail(order);
-            logOrder(order);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Order> stored = orderRepository.finishClaims(finished);
+            if (stored.size() < finished.size()) {
+                // Taken over after running past claim-timeout; the new owners store the outcome
+                log.warn("{} claims lost before their outcome was stored", finished.size() - stored.size());
+            }
+            for (Order order : stored) {
+                idempotencyFilter.recordAfterCommit(order.getOrderId());
+                // Kafka events and notifications go out once the outcome is committed
+                publishAfterCommit(order);
+                if (order.getStatus() == OrderStatus.COMPLETED) {
+                    log.info("Order processed successfully: orderId={}", order.getOrderId());
+                }
+            }
+            if (releaseOnFailure && !failed.isEmpty()) {
+                orderRepository.releaseClaims(failed.stream().map(Order::getOrderId).toList());
+                failed.forEach(orderQueryService::evictAfterCommit);
+            }
+        });
 
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-            log.info("Order processed successfully: orderId={}", message.getOrderId());
+    /**
+     * Waits for the inventory and payment steps (run concurrently, see
+     * OrderPipeline) and records the outcome on the order. A step timeout is
+     * not a business outcome and propagates so the message is retried.
+     */
+    private void evaluate(Order order, OrderPipeline.Execution execution) {
+        try {
+            execution.await();
+            order.setStatus(OrderStatus.COMPLETED);
 
         } catch (InsufficientInventoryException | PaymentFailedException e) {
-            log.error("Business logic error processing order: orderId={}", message.getOrderId(), e);
+            log.error("Business logic error processing order: orderId={}", order.getOrderId(), e);
 
             // Save failed order
-            Order failedOrder = Order.fromMessage(message);
-            failedOrder.setStatus(OrderStatus.FAILED);
-            failedOrder.setErrorMessage(e.getMessage());
-
-            orderEventPublisher.publish(new OrderCreatedEvent(orderRepository.save(failedOrder)));
+            order.setStatus(OrderStatus.FAILED);
+            order.setErrorMessage(e.getMessage());
+        }
+        order.setProcessedAt(LocalDateTime.now());
+    }
 
-        } catch (Exception e) {
-            log.error("Unexpected error processing order: orderId={}", message.getOrderId(), e);
-            throw new RuntimeException("Failed to process order", e);
+    private void publishAfterCommit(Order order) {
+        OrderCreatedEvent event = new OrderCreatedEvent(order);
+        eventBuffer.add(() -> orderEventPublisher.publish(event));
+        orderStatsStore.recordAfterCommit(order);
+        orderQueryService.evictAfterCommit(order);
+        if (order.getStatus() == OrderStatus.COMPLETED) {
+            sendEmail(order);
+            logOrder(order);
         }
     }
 
@@ -80,36 +243,14 @@ public class OrderProcessingService {
         String logMessage = String.format("Order Log - ID: %s, Customer: %s, Product: %s, Quantity: %d, Total: $%.2f",
                 order.getOrderId(), order.getCustomerId(), order.getProductId(),
                 order.getQuantity(), order.getTotalAmount());
-        try {
-            lambdaService.invokeLogger(logMessage);
-        } catch (Exception e) {
-            log.error("Failed to invoke logger lambda: {}", e.getMessage());
-        }
+        // Queued; the Lambda is invoked in batches off this thread
+        eventBuffer.add(() -> lambdaLogShipper.ship(logMessage));
     }
 
     private void sendEmail(Order order) {
-        faasTriggerPublisher.triggerEmail(
-                order.getCustomerId(),
-                "Order Confirmation - " + order.getOrderId(),
-                "Your order has been processed successfully. Total: $" + order.getTotalAmount()
-        );
-    }
-
-    private boolean checkInventory(String productId, int quantity) {
-        // Simulate inventory check
-        // In real app, this would call an inventory service
-        log.debug("Checking inventory for product: {}, quantity: {}", productId, quantity);
-
-        // Simulate occasional out of stock (10% failure rate)
-        return Math.random() > 0.1;
-    }
-
-    private boolean processPayment(String customerId, BigDecimal amount) {
-        // Simulate payment processing
-        // In real app, this would call a payment gateway
-        log.debug("Processing payment for customer: {}, amount: {}", customerId, amount);
-
-        // Simulate occasional payment failures (5% failure rate)
-        return Math.random() > 0.05;
+        String to = order.getCustomerId();
+        String subject = "Order Confirmation - " + order.getOrderId();
+        String body = "Your order has been processed successfully. Total: $" + order.getTotalAmount();
+        eventBuffer.add(() -> faasTriggerPublisher.triggerEmail(to, subject, body));
     }
-}
\ No newline at end of file
+}
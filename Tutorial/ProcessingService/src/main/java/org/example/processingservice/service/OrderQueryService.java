@@ -0,0 +1,68 @@
+package org.example.processingservice.service;
+
+import org.example.processingservice.config.CacheConfig;
+import org.example.processingservice.model.Order;
+import org.example.processingservice.model.dto.OrderSummary;
+import org.example.processingservice.persistence.OrderRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cached order reads. An order is stored as PROCESSING when it is claimed
+ * and then either finished or, after a technical failure, deleted again;
+ * both evict the entries it affects once their transaction commits. Lookups
+ * by id never cache a PROCESSING order, and a finished one no longer changes.
+ * A read racing with an eviction can still cache the old value, which the
+ * TTL bounds.
+ */
+@Service
+public class OrderQueryService {
+
+    // Only the default page size is cached, so one entry per customer is enough
+    public static final int CACHED_PAGE_SIZE = 50;
+
+    private final OrderRepository orderRepository;
+    private final TransactionalEventBuffer eventBuffer;
+    private final Cache orders;
+    private final Cache customerOrders;
+
+    public OrderQueryService(OrderRepository orderRepository,
+                             TransactionalEventBuffer eventBuffer,
+                             CacheManager cacheManager) {
+        this.orderRepository = orderRepository;
+        this.eventBuffer = eventBuffer;
+        this.orders = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ORDERS));
+        this.customerOrders = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CUSTOMER_ORDERS));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ORDERS, unless = "#result == null "
+            + "|| #result.status == T(org.example.processingservice.model.OrderStatus).PROCESSING")
+    public Order findOrder(String orderId) {
+        return orderRepository.findById(orderId).orElse(null);
+    }
+
+    /**
+     * First page of a customer's orders, with one row more than
+     * CACHED_PAGE_SIZE so the caller can tell whether there is a next page.
+     */
+    @Cacheable(cacheNames = CacheConfig.CUSTOMER_ORDERS)
+    public List<OrderSummary> findFirstCustomerPage(String customerId) {
+        return List.copyOf(orderRepository.findSummariesByCustomer(customerId, Limit.of(CACHED_PAGE_SIZE + 1)));
+    }
+
+    /** Drops cached reads the order affects once the surrounding transaction has committed. */
+    public void evictAfterCommit(Order order) {
+        String orderId = order.getOrderId();
+        String customerId = order.getCustomerId();
+        eventBuffer.add(() -> {
+            orders.evict(orderId);
+            customerOrders.evict(customerId);
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.processingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back side effects (Kafka events, FaaS triggers, log shipping) until
+ * the surrounding transaction commits, so nothing is published for rows that
+ * roll back and no broker I/O happens while the transaction is open. Each
+ * transaction gets one buffer, which is handed over in one go after commit
+ * and discarded on rollback. Outside a transaction actions run immediately.
+ *
+ * Actions should capture their data when they are added; the entity may
+ * change afterwards.
+ */
+@Component
+@Slf4j
+public class TransactionalEventBuffer {
+
+    public void add(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            run(action);
+            return;
+        }
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new Buffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.actions.add(action);
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Failed to publish after commit: {}", e.getMessage(), e);
+        }
+    }
+
+    private final class Buffer implements TransactionSynchronization {
+        private final List<Runnable> actions = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            log.debug("Publishing {} buffered events after commit", actions.size());
+            actions.forEach(TransactionalEventBuffer::run);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalEventBuffer.this);
+            if (status != STATUS_COMMITTED && !actions.isEmpty()) {
+                log.debug("Discarding {} buffered events, transaction not committed", actions.size());
+            }
+        }
+    }
+}
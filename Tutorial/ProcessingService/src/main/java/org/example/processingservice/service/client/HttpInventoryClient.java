@@ -0,0 +1,69 @@
+package org.example.processingservice.service.client;
+
+import org.example.processingservice.config.DownstreamProperties;
+import org.example.processingservice.exceptions.InsufficientInventoryException;
+import org.example.processingservice.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Inventory service over HTTP. The order id goes out as the Idempotency-Key
+ * header; the service must answer a repeated key with the first outcome
+ * instead of reserving again. 409 means out of stock; any other error status
+ * is a technical failure and the message is retried.
+ */
+@Component
+@ConditionalOnProperty(name = "processing.clients.inventory.mode", havingValue = "http")
+public class HttpInventoryClient implements InventoryClient, AutoCloseable {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final PooledRestClient client;
+
+    public HttpInventoryClient(DownstreamProperties properties) {
+        this.client = new PooledRestClient(properties.getInventory().getHttp());
+    }
+
+    @Override
+    public void reserve(Order order) throws InsufficientInventoryException {
+        HttpStatusCode status = client.restClient().post()
+                .uri("/api/inventory/reservations")
+                .header(IDEMPOTENCY_KEY, order.getOrderId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "orderId", order.getOrderId(),
+                        "productId", order.getProductId(),
+                        "quantity", order.getQuantity()))
+                .exchange((request, response) -> response.getStatusCode());
+
+        if (status.value() == HttpStatus.CONFLICT.value()) {
+            throw new InsufficientInventoryException("Product " + order.getProductId() + " out of stock");
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new RestClientException("Inventory reservation failed with status " + status.value());
+        }
+    }
+
+    @Override
+    public void release(Order order) {
+        HttpStatusCode status = client.restClient().delete()
+                .uri("/api/inventory/reservations/{orderId}", order.getOrderId())
+                .exchange((request, response) -> response.getStatusCode());
+
+        if (!status.is2xxSuccessful() && status.value() != HttpStatus.NOT_FOUND.value()) {
+            throw new RestClientException("Inventory release failed with status " + status.value());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.processingservice.service.client;
+
+import org.example.processingservice.config.DownstreamProperties;
+import org.example.processingservice.exceptions.PaymentFailedException;
+import org.example.processingservice.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Payment gateway over HTTP. The order id goes out as the Idempotency-Key
+ * header; the gateway must answer a repeated key with the first outcome
+ * instead of placing another hold. 402 means the payment was declined.
+ */
+@Component
+@ConditionalOnProperty(name = "processing.clients.payment.mode", havingValue = "http")
+public class HttpPaymentClient implements PaymentClient, AutoCloseable {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final PooledRestClient client;
+
+    public HttpPaymentClient(DownstreamProperties properties) {
+        this.client = new PooledRestClient(properties.getPayment().getHttp());
+    }
+
+    @Override
+    public void preAuthorize(Order order) throws PaymentFailedException {
+        HttpStatusCode status = client.restClient().post()
+                .uri("/api/payments/authorizations")
+                .header(IDEMPOTENCY_KEY, order.getOrderId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "orderId", order.getOrderId(),
+                        "customerId", order.getCustomerId(),
+                        "amount", order.getTotalAmount()))
+                .exchange((request, response) -> response.getStatusCode());
+
+        if (status.value() == HttpStatus.PAYMENT_REQUIRED.value()) {
+            throw new PaymentFailedException("Payment failed for customer " + order.getCustomerId());
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new RestClientException("Payment pre-authorization failed with status " + status.value());
+        }
+    }
+
+    @Override
+    public void voidAuthorization(Order order) {
+        HttpStatusCode status = client.restClient().delete()
+                .uri("/api/payments/authorizations/{orderId}", order.getOrderId())
+                .exchange((request, response) -> response.getStatusCode());
+
+        if (!status.is2xxSuccessful() && status.value() != HttpStatus.NOT_FOUND.value()) {
+            throw new RestClientException("Payment void failed with status " + status.value());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+}
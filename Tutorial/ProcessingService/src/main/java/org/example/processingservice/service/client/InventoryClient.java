@@ -0,0 +1,19 @@
+package org.example.processingservice.service.client;
+
+import org.example.processingservice.exceptions.InsufficientInventoryException;
+import org.example.processingservice.model.Order;
+
+/**
+ * The order id is the idempotency key of a reservation: reserving again for
+ * the same order must not reserve twice, and must give the first call's
+ * outcome. An order's steps run again when its claim goes stale (see
+ * OrderProcessingService), so implementations have to honour it.
+ */
+public interface InventoryClient {
+
+    /** Reserves the order's quantity of its product, once per order id. */
+    void reserve(Order order) throws InsufficientInventoryException;
+
+    /** Releases the order's reservation, if there is one. */
+    void release(Order order);
+}
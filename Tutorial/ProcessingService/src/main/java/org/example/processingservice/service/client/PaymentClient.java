@@ -0,0 +1,19 @@
+package org.example.processingservice.service.client;
+
+import org.example.processingservice.exceptions.PaymentFailedException;
+import org.example.processingservice.model.Order;
+
+/**
+ * The order id is the idempotency key of a pre-authorization: authorizing
+ * again for the same order must not place a second hold, and must give the
+ * first call's outcome. An order's steps run again when its claim goes stale
+ * (see OrderProcessingService), so implementations have to honour it.
+ */
+public interface PaymentClient {
+
+    /** Places a hold for the order's total on the customer's payment method, once per order id. */
+    void preAuthorize(Order order) throws PaymentFailedException;
+
+    /** Voids the order's pre-authorization, if there is one. */
+    void voidAuthorization(Order order);
+}
@@ -0,0 +1,69 @@
+package org.example.processingservice.service.client;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.example.processingservice.config.DownstreamProperties;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+
+/**
+ * A RestClient for one backend on top of a keep-alive connection pool, so
+ * calls skip the TCP (and TLS) handshake. Connect, response and
+ * pool-checkout waits are all bounded.
+ */
+final class PooledRestClient implements AutoCloseable {
+
+    private final CloseableHttpClient httpClient;
+    private final RestClient restClient;
+
+    PooledRestClient(DownstreamProperties.Http settings) {
+        if (settings.getBaseUrl() == null || settings.getBaseUrl().isBlank()) {
+            throw new IllegalStateException("base-url is required for http clients");
+        }
+        Timeout connectTimeout = Timeout.of(settings.getConnectTimeout());
+        Timeout readTimeout = Timeout.of(settings.getReadTimeout());
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                // Only one backend per pool, so one route can use all of it
+                .setMaxConnPerRoute(settings.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(connectTimeout)
+                        .setResponseTimeout(readTimeout)
+                        .build())
+                .evictIdleConnections(TimeValue.of(settings.getIdleTimeout()))
+                .evictExpiredConnections()
+                .build();
+
+        this.restClient = RestClient.builder()
+                .baseUrl(settings.getBaseUrl())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    RestClient restClient() {
+        return restClient;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.processingservice.service.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.config.DownstreamProperties;
+import org.example.processingservice.exceptions.InsufficientInventoryException;
+import org.example.processingservice.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** In-process stand-in; outcomes follow the order id, so repeated reservations agree. */
+@Component
+@ConditionalOnProperty(name = "processing.clients.inventory.mode", havingValue = "simulated", matchIfMissing = true)
+@Slf4j
+public class SimulatedInventoryClient implements InventoryClient {
+
+    private final SimulatedLatency latency;
+
+    public SimulatedInventoryClient(DownstreamProperties properties) {
+        this.latency = new SimulatedLatency(properties.getInventory().getSimulated());
+    }
+
+    @Override
+    public void reserve(Order order) throws InsufficientInventoryException {
+        log.debug("Checking inventory for product: {}, quantity: {}", order.getProductId(), order.getQuantity());
+        latency.await();
+        if (latency.fails(order.getOrderId(), "inventory")) {
+            throw new InsufficientInventoryException("Product " + order.getProductId() + " out of stock");
+        }
+    }
+
+    @Override
+    public void release(Order order) {
+        log.debug("Releasing inventory reservation: orderId={}", order.getOrderId());
+        latency.await();
+    }
+}
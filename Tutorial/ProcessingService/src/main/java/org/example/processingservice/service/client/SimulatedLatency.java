@@ -0,0 +1,64 @@
+package org.example.processingservice.service.client;
+
+import org.example.processingservice.config.DownstreamProperties;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delays the calling thread like a remote call would. LOG_NORMAL is fitted
+ * to the configured median and p99, which gives the long tail real services
+ * have; UNIFORM spreads between the two and FIXED always waits the median.
+ */
+final class SimulatedLatency {
+
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final DownstreamProperties.Simulated settings;
+    private final double mu;
+    private final double sigma;
+
+    SimulatedLatency(DownstreamProperties.Simulated settings) {
+        this.settings = settings;
+        double median = Math.max(settings.getMedian().toNanos(), 1);
+        double p99 = Math.max(settings.getP99().toNanos(), median);
+        this.mu = Math.log(median);
+        this.sigma = (Math.log(p99) - mu) / Z_99;
+    }
+
+    void await() {
+        long nanos = sample();
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during simulated call", e);
+        }
+    }
+
+    /**
+     * Whether the call for this key fails. Decided by the key rather than at
+     * random, so a repeated call gives the same outcome like an idempotent
+     * service would; the salt keeps different services' outcomes independent.
+     */
+    boolean fails(String key, String salt) {
+        long seed = (long) key.hashCode() << 32 | (salt.hashCode() & 0xffffffffL);
+        return new SplittableRandom(seed).nextDouble() < settings.getFailureRate();
+    }
+
+    long sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long median = settings.getMedian().toNanos();
+        return switch (settings.getDistribution()) {
+            case FIXED -> median;
+            case UNIFORM -> median >= settings.getP99().toNanos()
+                    ? median
+                    : random.nextLong(median, settings.getP99().toNanos() + 1);
+            case LOG_NORMAL -> (long) Math.exp(mu + sigma * random.nextGaussian());
+        };
+    }
+}
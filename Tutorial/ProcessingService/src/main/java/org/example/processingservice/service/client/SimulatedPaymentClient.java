@@ -0,0 +1,36 @@
+package org.example.processingservice.service.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.config.DownstreamProperties;
+import org.example.processingservice.exceptions.PaymentFailedException;
+import org.example.processingservice.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** In-process stand-in; outcomes follow the order id, so repeated pre-authorizations agree. */
+@Component
+@ConditionalOnProperty(name = "processing.clients.payment.mode", havingValue = "simulated", matchIfMissing = true)
+@Slf4j
+public class SimulatedPaymentClient implements PaymentClient {
+
+    private final SimulatedLatency latency;
+
+    public SimulatedPaymentClient(DownstreamProperties properties) {
+        this.latency = new SimulatedLatency(properties.getPayment().getSimulated());
+    }
+
+    @Override
+    public void preAuthorize(Order order) throws PaymentFailedException {
+        log.debug("Processing payment for customer: {}, amount: {}", order.getCustomerId(), order.getTotalAmount());
+        latency.await();
+        if (latency.fails(order.getOrderId(), "payment")) {
+            throw new PaymentFailedException("Payment failed for customer " + order.getCustomerId());
+        }
+    }
+
+    @Override
+    public void voidAuthorization(Order order) {
+        log.debug("Voiding payment pre-authorization: orderId={}", order.getOrderId());
+        latency.await();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.processingservice.service.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU of the order ids this instance finished recently, so a redelivery of
+ * one of them is skipped before it reaches the database. Ids are recorded
+ * only after their transaction commits, so a hit is always a stored order.
+ * A miss says nothing: the claim insert's primary key is what catches every
+ * other duplicate.
+ */
+@Component
+public class OrderIdempotencyFilter {
+
+    private final Map<String, Boolean> recent;
+
+    public OrderIdempotencyFilter(@Value("${idempotency.recent-size:10000}") int recentSize) {
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(recentSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentSize;
+            }
+        });
+    }
+
+    /** True if this instance recently finished the order. */
+    public boolean seen(String orderId) {
+        return recent.containsKey(orderId);
+    }
+
+    /** Records the id once the surrounding transaction has committed. */
+    public void recordAfterCommit(String orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recent.put(orderId, Boolean.TRUE);
+                }
+            });
+        } else {
+            recent.put(orderId, Boolean.TRUE);
+        }
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Map;
 public class FaasTriggerPublisher {
 
     private static final String TOPIC = "faas-triggers";
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ObjectMapper objectMapper;
 
     public void triggerFunction(String functionName, Map<String, Object> payload) {
@@ -23,7 +23,7 @@ public class FaasTriggerPublisher {
                     "functionName", functionName,
                     "payload", payload
             );
-            String json = objectMapper.writeValueAsString(message);
+            byte[] json = objectMapper.writeValueAsBytes(message);
             kafkaTemplate.send(TOPIC, functionName, json);
             log.info("Published FaaS trigger for function: {}", functionName);
         } catch (Exception e) {
@@ -13,13 +13,13 @@ import tools.jackson.databind.ObjectMapper;
 public class OrderEventPublisher {
 
     private static final String TOPIC = "order-events";
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
 
     private final ObjectMapper objectMapper;
 
     public void publish(OrderCreatedEvent event) {
         try {
-            String json = objectMapper.writeValueAsString(event);
+            byte[] json = objectMapper.writeValueAsBytes(event);
 
             kafkaTemplate.send(TOPIC, event.getUserId(), json)
                     .whenComplete((result, ex) -> {
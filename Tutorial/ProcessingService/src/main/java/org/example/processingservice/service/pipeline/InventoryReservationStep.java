@@ -0,0 +1,42 @@
+package org.example.processingservice.service.pipeline;
+
+import org.example.processingservice.exceptions.InsufficientInventoryException;
+import org.example.processingservice.model.Order;
+import org.example.processingservice.service.client.InventoryClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class InventoryReservationStep implements OrderStep {
+
+    private final InventoryClient inventoryClient;
+    private final Duration timeout;
+
+    public InventoryReservationStep(InventoryClient inventoryClient,
+                                    @Value("${processing.steps.inventory.timeout:2s}") Duration timeout) {
+        this.inventoryClient = inventoryClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "inventory";
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public void execute(Order order) throws InsufficientInventoryException {
+        inventoryClient.reserve(order);
+    }
+
+    @Override
+    public void compensate(Order order) {
+        inventoryClient.release(order);
+    }
+}
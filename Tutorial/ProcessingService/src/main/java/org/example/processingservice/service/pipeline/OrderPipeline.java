@@ -0,0 +1,178 @@
+package org.example.processingservice.service.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.exceptions.InsufficientInventoryException;
+import org.example.processingservice.exceptions.PaymentFailedException;
+import org.example.processingservice.model.Order;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs all {@link OrderStep}s for an order at the same time on a bounded
+ * executor, so an order takes as long as its slowest step rather than the
+ * sum of them. Each step has its own deadline. {@link #start} only submits
+ * the steps, so a caller can start several orders before waiting on any.
+ * It waits first until the executor's queue has room for every step, so
+ * however many orders consumers start at once, the executor is never asked
+ * to take more than it holds.
+ *
+ * If any step fails or times out, the steps that succeeded are compensated
+ * and the first failure is rethrown; a step that finishes after its deadline
+ * is compensated once it does. Nothing is compensated once the pipeline has
+ * succeeded: callers claim the order before starting it, so an order is
+ * never run twice.
+ */
+@Component
+@Slf4j
+public class OrderPipeline {
+
+    private final List<OrderStep> steps;
+    private final Executor executor;
+    // One permit per queue slot of the executor; a step holds one until it has run. Not counting
+    // the threads too: a step releases its permit just before its thread is free for the next one
+    private final Semaphore slots;
+
+    public OrderPipeline(List<OrderStep> steps, @Qualifier("orderStepExecutor") ThreadPoolTaskExecutor executor) {
+        int capacity = executor.getQueueCapacity();
+        if (capacity < steps.size()) {
+            throw new IllegalStateException("orderStepExecutor queues " + capacity
+                    + " tasks, fewer than the " + steps.size() + " steps of one order");
+        }
+        this.steps = steps;
+        this.executor = executor;
+        this.slots = new Semaphore(capacity, true);
+    }
+
+    public Execution start(Order order) {
+        List<CompletableFuture<Void>> running = new ArrayList<>(steps.size());
+        boolean admitted = awaitSlots();
+        long start = System.nanoTime();
+        for (OrderStep step : steps) {
+            running.add(admitted ? submit(step, order) : notStarted(step, "the consumer was interrupted"));
+        }
+        return new Execution(order, start, running);
+    }
+
+    /** The steps of one order, started together. */
+    public final class Execution {
+
+        private final Order order;
+        private final long start;
+        private final List<CompletableFuture<Void>> running;
+
+        private Execution(Order order, long start, List<CompletableFuture<Void>> running) {
+            this.order = order;
+            this.start = start;
+            this.running = running;
+        }
+
+        /** Waits for every step, up to its deadline, and settles the outcome. */
+        public void await() throws InsufficientInventoryException, PaymentFailedException {
+            List<OrderStep> succeeded = new ArrayList<>(steps.size());
+            Throwable failure = null;
+            for (int i = 0; i < steps.size(); i++) {
+                OrderStep step = steps.get(i);
+                CompletableFuture<Void> task = running.get(i);
+                long remaining = step.timeout().toNanos() - (System.nanoTime() - start);
+                try {
+                    task.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                    succeeded.add(step);
+                } catch (TimeoutException e) {
+                    failure = first(failure, new StepTimeoutException(
+                            step.name() + " step timed out after " + step.timeout().toMillis() + " ms"));
+                    // It may still succeed; undo it when it does
+                    task.thenRun(() -> compensate(step, order));
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof StepFailure stepFailure ? stepFailure.getCause() : e.getCause();
+                    failure = first(failure, cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = first(failure, e);
+                    task.thenRun(() -> compensate(step, order));
+                }
+            }
+
+            if (failure != null) {
+                succeeded.forEach(step -> compensate(step, order));
+                rethrow(failure);
+            }
+        }
+    }
+
+    private boolean awaitSlots() {
+        try {
+            slots.acquire(steps.size());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private CompletableFuture<Void> submit(OrderStep step, Order order) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    step.execute(order);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new StepFailure(e);
+                } finally {
+                    slots.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // Only once the pool is shutting down; fail like a timeout so started steps are compensated
+            slots.release();
+            return notStarted(step, "the order step pool rejected it");
+        }
+    }
+
+    private static CompletableFuture<Void> notStarted(OrderStep step, String reason) {
+        return CompletableFuture.failedFuture(new StepTimeoutException(step.name() + " step not started, " + reason));
+    }
+
+    private static void compensate(OrderStep step, Order order) {
+        try {
+            step.compensate(order);
+        } catch (RuntimeException e) {
+            log.error("Compensation of {} step failed: orderId={}", step.name(), order.getOrderId(), e);
+        }
+    }
+
+    private static Throwable first(Throwable current, Throwable candidate) {
+        return current != null ? current : candidate;
+    }
+
+    private static void rethrow(Throwable failure) throws InsufficientInventoryException, PaymentFailedException {
+        if (failure instanceof InsufficientInventoryException e) {
+            throw e;
+        }
+        if (failure instanceof PaymentFailedException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        throw new IllegalStateException("Order step failed", failure);
+    }
+
+    /** Carries a step's checked exception through CompletableFuture. */
+    private static final class StepFailure extends RuntimeException {
+        private StepFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
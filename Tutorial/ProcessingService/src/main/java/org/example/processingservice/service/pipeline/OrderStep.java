@@ -0,0 +1,35 @@
+package org.example.processingservice.service.pipeline;
+
+import org.example.processingservice.model.Order;
+
+import java.time.Duration;
+
+/**
+ * One independent unit of work an order has to pass before its outcome is stored.
+ * Steps run concurrently and must not depend on each other's results.
+ */
+public interface OrderStep {
+
+    String name();
+
+    /** How long the step may take, counted from when the pipeline starts it. */
+    Duration timeout();
+
+    /**
+     * Performs the step. Business rejections are reported with the checked
+     * exceptions from the exceptions package; anything else is treated as a
+     * technical failure and the message is retried.
+     *
+     * Must be idempotent per order id: an order whose claim went stale runs
+     * its steps again, possibly after they already succeeded.
+     */
+    void execute(Order order) throws Exception;
+
+    /**
+     * Undoes the step's effect for this order. Called when another step fails
+     * or when the step itself finished after its timeout, so it must be
+     * idempotent and safe to call for an order the step never saw.
+     */
+    default void compensate(Order order) {
+    }
+}
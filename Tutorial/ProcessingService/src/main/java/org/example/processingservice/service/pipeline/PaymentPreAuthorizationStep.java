@@ -0,0 +1,42 @@
+package org.example.processingservice.service.pipeline;
+
+import org.example.processingservice.exceptions.PaymentFailedException;
+import org.example.processingservice.model.Order;
+import org.example.processingservice.service.client.PaymentClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class PaymentPreAuthorizationStep implements OrderStep {
+
+    private final PaymentClient paymentClient;
+    private final Duration timeout;
+
+    public PaymentPreAuthorizationStep(PaymentClient paymentClient,
+                                       @Value("${processing.steps.payment.timeout:3s}") Duration timeout) {
+        this.paymentClient = paymentClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "payment";
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public void execute(Order order) throws PaymentFailedException {
+        paymentClient.preAuthorize(order);
+    }
+
+    @Override
+    public void compensate(Order order) {
+        paymentClient.voidAuthorization(order);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.processingservice.service.pipeline;
+
+public class StepTimeoutException extends RuntimeException {
+    public StepTimeoutException(String message) {
+        super(message);
+    }
+}
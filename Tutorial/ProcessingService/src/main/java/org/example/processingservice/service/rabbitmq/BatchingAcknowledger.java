@@ -0,0 +1,136 @@
+package org.example.processingservice.service.rabbitmq;
+
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.config.ConsumerProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces manual acks per consumer channel into one basicAck(tag, true).
+ *
+ * Each listener consumer owns one channel and handles its deliveries in order,
+ * so once delivery N has succeeded every earlier tag on that channel has been
+ * settled: either acked here, or nacked/rejected after flushing what came before.
+ * Pending acks are flushed when the batch is full, before any nack/reject, and
+ * once the oldest of them has waited ack-flush-interval. The age check runs on
+ * every ack and on a timer, so a consumer that stops receiving still gets its
+ * acks out. The batch is capped at half the prefetch: a consumer holding
+ * prefetch unacked deliveries gets no more until the timer flushes them. Unflushed acks at shutdown lead to redelivery, which order
+ * processing already tolerates.
+ */
+@Component
+@Slf4j
+public class BatchingAcknowledger {
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Map<Channel, PendingAcks> pending = new ConcurrentHashMap<>();
+
+    public BatchingAcknowledger(ConsumerProperties properties) {
+        int cap = Math.max(1, properties.getPrefetch() / 2);
+        if (properties.getAckBatchSize() > cap) {
+            log.warn("ack-batch-size {} would stall consumers with prefetch {}; acking every {} instead",
+                    properties.getAckBatchSize(), properties.getPrefetch(), cap);
+        }
+        this.batchSize = Math.max(1, Math.min(properties.getAckBatchSize(), cap));
+        this.flushIntervalNanos = properties.getAckFlushInterval().toNanos();
+    }
+
+    public void ack(Channel channel, long deliveryTag) throws IOException {
+        PendingAcks acks = pending.computeIfAbsent(channel, PendingAcks::new);
+        synchronized (acks) {
+            if (acks.count == 0) {
+                acks.oldestAt = System.nanoTime();
+            }
+            acks.lastTag = deliveryTag;
+            if (++acks.count >= batchSize || acks.isOlderThan(flushIntervalNanos)) {
+                flush(acks);
+            }
+        }
+    }
+
+    public void nack(Channel channel, long deliveryTag, boolean requeue) throws IOException {
+        PendingAcks acks = pending.get(channel);
+        if (acks == null) {
+            channel.basicNack(deliveryTag, false, requeue);
+            return;
+        }
+        synchronized (acks) {
+            flush(acks);
+            channel.basicNack(deliveryTag, false, requeue);
+        }
+    }
+
+    public void reject(Channel channel, long deliveryTag) throws IOException {
+        PendingAcks acks = pending.get(channel);
+        if (acks == null) {
+            channel.basicReject(deliveryTag, false);
+            return;
+        }
+        synchronized (acks) {
+            flush(acks);
+            channel.basicReject(deliveryTag, false);
+        }
+    }
+
+    /** Sends any acks still held for this channel. */
+    public void flush(Channel channel) throws IOException {
+        PendingAcks acks = pending.get(channel);
+        if (acks != null) {
+            synchronized (acks) {
+                flush(acks);
+            }
+        }
+    }
+
+    // Consumer threads only flush on their own activity; this catches the ones that went quiet
+    @Scheduled(fixedDelayString = "${rabbitmq.consumer.ack-flush-interval:500ms}")
+    public void flushStale() {
+        pending.values().removeIf(acks -> !acks.channel.isOpen());
+        for (PendingAcks acks : pending.values()) {
+            synchronized (acks) {
+                if (acks.isOlderThan(flushIntervalNanos)) {
+                    try {
+                        flush(acks);
+                    } catch (IOException e) {
+                        log.error("Failed to flush pending acks", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void flush(PendingAcks acks) throws IOException {
+        if (acks.count == 0) {
+            return;
+        }
+        try {
+            // A closed channel's tags are void; its deliveries are redelivered on the new one
+            if (acks.channel.isOpen()) {
+                acks.channel.basicAck(acks.lastTag, true);
+            }
+        } finally {
+            acks.count = 0;
+        }
+    }
+
+    private static final class PendingAcks {
+        private final Channel channel;
+        private long lastTag;
+        private int count;
+        private long oldestAt;
+
+        private PendingAcks(Channel channel) {
+            this.channel = channel;
+        }
+
+        private boolean isOlderThan(long nanos) {
+            return count > 0 && System.nanoTime() - oldestAt >= nanos;
+        }
+    }
+}
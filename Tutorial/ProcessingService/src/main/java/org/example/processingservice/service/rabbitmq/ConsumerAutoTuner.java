@@ -0,0 +1,71 @@
+package org.example.processingservice.service.rabbitmq;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.config.ConsumerProperties;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adjusts the order listener's consumer count one step at a time:
+ * up while the queue is backed up and messages are still processed within
+ * the target latency, down when latency shows the downstream is saturated or
+ * the queue has drained.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "rabbitmq.consumer.auto-tune", name = "enabled", havingValue = "true")
+public class ConsumerAutoTuner {
+
+    private final RabbitListenerEndpointRegistry registry;
+    private final AmqpAdmin amqpAdmin;
+    private final ProcessingLatencyTracker latencyTracker;
+    private final ConsumerProperties properties;
+
+    @Value("${rabbitmq.queue}")
+    private String queue;
+
+    @Scheduled(fixedDelayString = "${rabbitmq.consumer.auto-tune.interval:10s}")
+    public void tune() {
+        MessageListenerContainer listener = registry.getListenerContainer(OrderMessageListener.LISTENER_ID);
+        if (listener == null) {
+            listener = registry.getListenerContainer(OrderBatchListener.LISTENER_ID);
+        }
+        if (!(listener instanceof SimpleMessageListenerContainer container) || !container.isRunning()) {
+            return;
+        }
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        long latency = latencyTracker.averageNanos();
+        if (info == null || latency < 0) {
+            return;
+        }
+
+        int current = container.getActiveConsumerCount();
+        long target = properties.getAutoTune().getTargetLatency().toNanos();
+        long depth = info.getMessageCount();
+
+        int next = current;
+        if (latency > 2 * target) {
+            next = current - 1;
+        } else if (depth > (long) current * properties.getAutoTune().getBacklogPerConsumer() && latency <= target) {
+            next = current + 1;
+        } else if (depth == 0) {
+            next = current - 1;
+        }
+        next = Math.max(properties.getConcurrency(), Math.min(properties.getMaxConcurrency(), next));
+
+        if (next != current) {
+            log.info("Adjusting order consumers {} -> {} (queue depth={}, avg latency={}ms)",
+                    current, next, depth, latency / 1_000_000);
+            container.setConcurrentConsumers(next);
+        }
+    }
+}
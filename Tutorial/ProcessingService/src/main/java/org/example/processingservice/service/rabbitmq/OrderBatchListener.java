@@ -0,0 +1,62 @@
+package org.example.processingservice.service.rabbitmq;
+
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.model.OrderMessage;
+import org.example.processingservice.service.OrderProcessingService;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Batch alternative to {@link OrderMessageListener}: the whole batch is
+ * claimed, run and stored together (see OrderProcessingService#processBatch),
+ * then acked with one multiple-ack. If anything in the batch fails, each
+ * message is retried on its own through the per-message path so only the bad
+ * ones get requeued or dead-lettered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "rabbitmq.consumer.batch", name = "enabled", havingValue = "true")
+public class OrderBatchListener {
+
+    public static final String LISTENER_ID = "orderBatchListener";
+
+    private final OrderProcessingService orderProcessingService;
+    private final OrderDeliveryHandler deliveryHandler;
+    private final BatchingAcknowledger acknowledger;
+    private final ProcessingLatencyTracker latencyTracker;
+
+    @RabbitListener(id = LISTENER_ID, queues = "${rabbitmq.queue}", ackMode = "MANUAL",
+            containerFactory = "batchRabbitListenerContainerFactory")
+    public void handleOrderBatch(List<Message<OrderMessage>> messages, Channel channel) throws IOException {
+        log.info("Received batch of {} order messages", messages.size());
+
+        long start = System.nanoTime();
+        try {
+            orderProcessingService.processBatch(messages.stream().map(Message::getPayload).toList());
+            latencyTracker.record((System.nanoTime() - start) / messages.size());
+
+            // Deliveries on a channel are in order, so this settles the whole batch
+            channel.basicAck(deliveryTag(messages.get(messages.size() - 1)), true);
+        } catch (Exception e) {
+            log.warn("Batch of {} orders failed, falling back to per-message processing", messages.size(), e);
+            for (Message<OrderMessage> message : messages) {
+                deliveryHandler.handle(message.getPayload(), channel, deliveryTag(message),
+                        Boolean.TRUE.equals(message.getHeaders().get(AmqpHeaders.REDELIVERED, Boolean.class)));
+            }
+            acknowledger.flush(channel);
+        }
+    }
+
+    private static long deliveryTag(Message<?> message) {
+        return message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.processingservice.service.rabbitmq;
+
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.model.OrderMessage;
+import org.example.processingservice.service.OrderProcessingService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Processes a single delivery and settles it: ack on success, requeue on the
+ * first failure, reject to the DLQ once it has been redelivered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDeliveryHandler {
+
+    private final OrderProcessingService orderProcessingService;
+    private final BatchingAcknowledger acknowledger;
+    private final ProcessingLatencyTracker latencyTracker;
+
+    public void handle(OrderMessage orderMessage, Channel channel, long deliveryTag, boolean redelivered) {
+        long start = System.nanoTime();
+        try {
+            // Process the order
+            orderProcessingService.processOrder(orderMessage);
+            latencyTracker.record(System.nanoTime() - start);
+
+            // Acknowledge, batched with other completed deliveries on this channel
+            acknowledger.ack(channel, deliveryTag);
+            log.debug("Message acknowledged: orderId={}", orderMessage.getOrderId());
+
+        } catch (Exception e) {
+            latencyTracker.record(System.nanoTime() - start);
+            log.error("Error processing order message: orderId={}", orderMessage.getOrderId(), e);
+
+            try {
+                if (redelivered) {
+                    // Message has been redelivered, send to DLQ
+                    log.error("Message redelivered, rejecting to DLQ: orderId={}", orderMessage.getOrderId());
+                    acknowledger.reject(channel, deliveryTag); // don't requeue
+                } else {
+                    // First failure, requeue for retry
+                    log.warn("First failure, requeuing message: orderId={}", orderMessage.getOrderId());
+                    acknowledger.nack(channel, deliveryTag, true); // true = requeue
+                }
+
+            } catch (IOException ioException) {
+                log.error("Failed to reject/nack message", ioException);
+            }
+        }
+    }
+}
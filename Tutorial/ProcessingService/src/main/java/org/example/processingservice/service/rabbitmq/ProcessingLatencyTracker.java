@@ -0,0 +1,28 @@
+package org.example.processingservice.service.rabbitmq;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponentially weighted moving average of per-message processing time,
+ * shared by all consumer threads.
+ */
+@Component
+public class ProcessingLatencyTracker {
+
+    private static final double ALPHA = 0.2;
+
+    private final AtomicLong averageNanos = new AtomicLong(-1);
+
+    public void record(long nanos) {
+        averageNanos.getAndUpdate(current -> current < 0
+                ? nanos
+                : (long) (ALPHA * nanos + (1 - ALPHA) * current));
+    }
+
+    /** Average in nanoseconds, or -1 before the first message. */
+    public long averageNanos() {
+        return averageNanos.get();
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.processingservice.service.stats;
+
+import org.example.processingservice.model.OrderStatus;
+import org.example.processingservice.model.dto.OrderTotals;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one slice. LongAdders keep concurrent consumers from
+ * contending on a single counter; amounts are kept in cents.
+ */
+final class Aggregate {
+
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder amountCents = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+
+    void add(OrderStatus status, long count, long cents) {
+        orders.add(count);
+        amountCents.add(cents);
+        if (status == OrderStatus.COMPLETED) {
+            completed.add(count);
+            revenueCents.add(cents);
+        } else if (status == OrderStatus.FAILED) {
+            failed.add(count);
+        }
+    }
+
+    long revenueCents() {
+        return revenueCents.sum();
+    }
+
+    OrderTotals totals() {
+        return new OrderTotals(orders.sum(), completed.sum(), failed.sum(),
+                BigDecimal.valueOf(amountCents.sum(), 2), BigDecimal.valueOf(revenueCents.sum(), 2));
+    }
+}
@@ -0,0 +1,259 @@
+package org.example.processingservice.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.processingservice.model.Order;
+import org.example.processingservice.model.OrderStatus;
+import org.example.processingservice.model.dto.OrderTotals;
+import org.example.processingservice.persistence.OrderRepository;
+import org.example.processingservice.service.TransactionalEventBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory order totals for the dashboard: overall, per status, per
+ * customer, per product and per hour of createdAt (the last
+ * {@code stats.timeline-retention}). Orders are added once their transaction
+ * commits, so reads never touch the database.
+ *
+ * The totals are loaded from the orders table at startup and reloaded every
+ * {@code stats.refresh-interval}, which also picks up orders stored by other
+ * instances. A reload reads every total from one REPEATABLE READ snapshot,
+ * so they agree with each other. Orders recorded from just before it starts
+ * are queued and, if the snapshot does not show them finished, applied on top.
+ */
+@Component
+@Slf4j
+public class OrderStatsStore {
+
+    private final OrderRepository orderRepository;
+    private final TransactionalEventBuffer eventBuffer;
+    private final TransactionTemplate snapshotTransaction;
+    private final Duration timelineRetention;
+    private static final int REPLAY_CHECK_CHUNK = 1000;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Snapshot current = new Snapshot();
+    // Orders recorded while a rebuild is running; null otherwise
+    private volatile Queue<Entry> recordedDuringRebuild;
+
+    public OrderStatsStore(OrderRepository orderRepository,
+                           TransactionalEventBuffer eventBuffer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${stats.timeline-retention:7d}") Duration timelineRetention) {
+        this.orderRepository = orderRepository;
+        this.eventBuffer = eventBuffer;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.timelineRetention = timelineRetention;
+    }
+
+    /** Adds the order to the totals once the surrounding transaction has committed. */
+    public void recordAfterCommit(Order order) {
+        Entry entry = Entry.of(order);
+        eventBuffer.add(() -> record(entry));
+    }
+
+    private void record(Entry entry) {
+        swapLock.readLock().lock();
+        try {
+            current.add(entry, timelineStart());
+            Queue<Entry> pending = recordedDuringRebuild;
+            if (pending != null) {
+                pending.add(entry);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public OrderTotals total() {
+        return current.total.totals();
+    }
+
+    public Map<OrderStatus, OrderTotals> byStatus() {
+        Map<OrderStatus, OrderTotals> result = new LinkedHashMap<>();
+        current.byStatus.forEach((status, aggregate) -> result.put(status, aggregate.totals()));
+        return result;
+    }
+
+    public OrderTotals customer(String customerId) {
+        Aggregate aggregate = current.byCustomer.get(customerId);
+        return aggregate != null ? aggregate.totals() : null;
+    }
+
+    /** Customers with the highest revenue first. */
+    public Map<String, OrderTotals> topCustomers(int limit) {
+        return top(current.byCustomer, limit);
+    }
+
+    public OrderTotals product(String productId) {
+        Aggregate aggregate = current.byProduct.get(productId);
+        return aggregate != null ? aggregate.totals() : null;
+    }
+
+    /** Products with the highest revenue first. */
+    public Map<String, OrderTotals> topProducts(int limit) {
+        return top(current.byProduct, limit);
+    }
+
+    /** Hourly totals by createdAt, oldest first. */
+    public Map<LocalDateTime, OrderTotals> timeline(int hours) {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+        Map<LocalDateTime, OrderTotals> result = new LinkedHashMap<>();
+        current.byHour.tailMap(from).forEach((hour, aggregate) -> result.put(hour, aggregate.totals()));
+        return result;
+    }
+
+    private static Map<String, OrderTotals> top(Map<String, Aggregate> aggregates, int limit) {
+        Map<String, OrderTotals> result = new LinkedHashMap<>();
+        aggregates.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Aggregate> e) -> e.getValue().revenueCents()).reversed())
+                .limit(limit)
+                .forEach(e -> result.put(e.getKey(), e.getValue().totals()));
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.refresh-interval:5m}", initialDelayString = "${stats.refresh-interval:5m}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        // Queue from before the snapshot is taken, so no order committed after it can slip past
+        recordedDuringRebuild = new ConcurrentLinkedQueue<>();
+        try {
+            Snapshot loaded = snapshotTransaction.execute(status -> {
+                Snapshot snapshot = load();
+                // Still inside the snapshot, so it can tell which queued orders it already counts
+                swapLock.writeLock().lock();
+                try {
+                    replayUnseen(snapshot);
+                    current = snapshot;
+                } finally {
+                    recordedDuringRebuild = null;
+                    swapLock.writeLock().unlock();
+                }
+                return snapshot;
+            });
+            log.info("Order stats loaded ({} orders) in {} ms",
+                    loaded.total.totals().getOrders(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            recordedDuringRebuild = null;
+            log.error("Failed to load order stats, keeping the current totals", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void replayUnseen(Snapshot snapshot) {
+        Map<String, Entry> queued = new LinkedHashMap<>();
+        recordedDuringRebuild.forEach(entry -> queued.putIfAbsent(entry.orderId(), entry));
+        List<String> ids = List.copyOf(queued.keySet());
+        for (int from = 0; from < ids.size(); from += REPLAY_CHECK_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(from + REPLAY_CHECK_CHUNK, ids.size()));
+            orderRepository.findFinishedIds(chunk).forEach(queued::remove);
+        }
+        LocalDateTime timelineStart = timelineStart();
+        queued.values().forEach(entry -> snapshot.add(entry, timelineStart));
+    }
+
+    @Scheduled(cron = "0 5 * * * *")
+    public void pruneTimeline() {
+        current.byHour.headMap(timelineStart()).clear();
+    }
+
+    private Snapshot load() {
+        Snapshot snapshot = new Snapshot();
+        for (Object[] row : orderRepository.sumByStatus()) {
+            OrderStatus status = (OrderStatus) row[0];
+            long count = (Long) row[1];
+            long cents = toCents((BigDecimal) row[2]);
+            snapshot.total.add(status, count, cents);
+            snapshot.byStatus.computeIfAbsent(status, s -> new Aggregate()).add(status, count, cents);
+        }
+        addGrouped(snapshot.byCustomer, orderRepository.sumByCustomerAndStatus());
+        addGrouped(snapshot.byProduct, orderRepository.sumByProductAndStatus());
+        for (Object[] row : orderRepository.sumByHourAndStatus(timelineStart())) {
+            snapshot.byHour.computeIfAbsent(toLocalDateTime(row[0]), hour -> new Aggregate())
+                    .add(OrderStatus.valueOf((String) row[1]), ((Number) row[2]).longValue(), toCents((BigDecimal) row[3]));
+        }
+        return snapshot;
+    }
+
+    private static void addGrouped(Map<String, Aggregate> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            OrderStatus status = (OrderStatus) row[1];
+            target.computeIfAbsent((String) row[0], key -> new Aggregate())
+                    .add(status, (Long) row[2], toCents((BigDecimal) row[3]));
+        }
+    }
+
+    private LocalDateTime timelineStart() {
+        return LocalDateTime.now().minus(timelineRetention).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private record Entry(String orderId, String customerId, String productId, OrderStatus status, long cents,
+                         LocalDateTime createdAt) {
+
+        static Entry of(Order order) {
+            return new Entry(order.getOrderId(), order.getCustomerId(), order.getProductId(), order.getStatus(),
+                    toCents(order.getTotalAmount()), order.getCreatedAt());
+        }
+    }
+
+    private static final class Snapshot {
+        private final Aggregate total = new Aggregate();
+        private final Map<OrderStatus, Aggregate> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, Aggregate> byCustomer = new ConcurrentHashMap<>();
+        private final Map<String, Aggregate> byProduct = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<LocalDateTime, Aggregate> byHour = new ConcurrentSkipListMap<>();
+
+        void add(Entry entry, LocalDateTime timelineStart) {
+            total.add(entry.status(), 1, entry.cents());
+            byStatus.computeIfAbsent(entry.status(), status -> new Aggregate()).add(entry.status(), 1, entry.cents());
+            byCustomer.computeIfAbsent(entry.customerId(), key -> new Aggregate()).add(entry.status(), 1, entry.cents());
+            byProduct.computeIfAbsent(entry.productId(), key -> new Aggregate()).add(entry.status(), 1, entry.cents());
+            if (!entry.createdAt().isBefore(timelineStart)) {
+                byHour.computeIfAbsent(entry.createdAt().truncatedTo(ChronoUnit.HOURS), hour -> new Aggregate())
+                        .add(entry.status(), 1, entry.cents());
+            }
+        }
+    }
+}
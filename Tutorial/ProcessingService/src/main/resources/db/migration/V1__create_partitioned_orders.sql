@@ -0,0 +1,86 @@
+-- Orders are range-partitioned by month on created_at, so old months can be
+-- detached or dropped cheaply and time-bounded queries only touch a few
+-- partitions. Postgres requires the partition key in every unique
+-- constraint, hence the (order_id, created_at) primary key. created_at comes
+-- from the OrderMessage and is identical on every redelivery, so
+-- ON CONFLICT DO NOTHING still catches duplicate deliveries.
+
+-- Databases created by hibernate ddl-auto have a plain orders table; move it
+-- aside and copy its rows over below.
+DO $$
+DECLARE
+    pkey TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE c.relname = 'orders' AND n.nspname = current_schema() AND c.relkind = 'r') THEN
+        ALTER TABLE orders RENAME TO orders_unpartitioned;
+        SELECT conname INTO pkey FROM pg_constraint
+        WHERE conrelid = 'orders_unpartitioned'::regclass AND contype = 'p';
+        IF pkey IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE orders_unpartitioned RENAME CONSTRAINT %I TO orders_unpartitioned_pkey', pkey);
+        END IF;
+    END IF;
+END
+$$;
+
+CREATE TABLE orders (
+    order_id      VARCHAR(255)   NOT NULL,
+    customer_id   VARCHAR(255)   NOT NULL,
+    product_id    VARCHAR(255)   NOT NULL,
+    quantity      INTEGER        NOT NULL,
+    price         NUMERIC(10, 2) NOT NULL,
+    total_amount  NUMERIC(10, 2) NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    processed_at  TIMESTAMP(6)   NOT NULL,
+    status        VARCHAR(255)   NOT NULL,
+    error_message VARCHAR(255),
+    PRIMARY KEY (order_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- One index per list query (see OrderRepository), matching its
+-- "order by created_at desc, order_id desc" keyset. Created on every partition.
+CREATE INDEX idx_orders_created ON orders (created_at DESC, order_id DESC);
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at DESC, order_id DESC);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at DESC, order_id DESC);
+
+-- Creates the partition for the month containing the given date, if missing.
+-- Called by OrderPartitionMaintainer to keep partitions ahead of time.
+CREATE FUNCTION create_orders_partition(month DATE) RETURNS VOID AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month);
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                   'orders_' || to_char(start_date, 'YYYY_MM'), start_date, start_date + INTERVAL '1 month');
+END
+$$ LANGUAGE plpgsql;
+
+-- Catches rows outside the prepared months so inserts never fail. It should
+-- stay empty: a month's partition can't be created while rows for it sit here.
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', now());
+    oldest DATE;
+    month DATE;
+BEGIN
+    IF to_regclass('orders_unpartitioned') IS NOT NULL THEN
+        EXECUTE 'SELECT date_trunc(''month'', min(created_at)) FROM orders_unpartitioned' INTO oldest;
+        first_month := LEAST(first_month, COALESCE(oldest, first_month));
+    END IF;
+
+    FOR month IN SELECT generate_series(first_month, date_trunc('month', now()) + INTERVAL '2 months', INTERVAL '1 month')
+    LOOP
+        PERFORM create_orders_partition(month);
+    END LOOP;
+
+    IF to_regclass('orders_unpartitioned') IS NOT NULL THEN
+        EXECUTE 'INSERT INTO orders (order_id, customer_id, product_id, quantity, price, total_amount,
+                                     created_at, processed_at, status, error_message)
+                 SELECT order_id, customer_id, product_id, quantity, price, total_amount,
+                        created_at, processed_at, status, error_message
+                 FROM orders_unpartitioned';
+        DROP TABLE orders_unpartitioned;
+    END IF;
+END
+$$;
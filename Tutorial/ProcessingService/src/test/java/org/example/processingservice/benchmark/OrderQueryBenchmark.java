@@ -0,0 +1,209 @@
+package org.example.processingservice.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the list queries from OrderRepository as the orders table grows,
+ * with only the primary key and then with the indexes from
+ * V1__create_partitioned_orders.sql. Runs against an in-memory H2 database in
+ * PostgreSQL mode by default, so it needs no server; pass a JDBC URL to run
+ * the same against Postgres. Partitioning is not modelled (H2 has no
+ * PARTITION BY); the table here is a plain one with the same columns.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.processingservice.benchmark.OrderQueryBenchmark \
+ *     -Dexec.args="10000,100000,500000"
+ * </pre>
+ */
+public class OrderQueryBenchmark {
+
+    private static final String DEFAULT_URL = "jdbc:h2:mem:orders;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;QUERY_CACHE_SIZE=0";
+    private static final int PAGE = 51; // limit + 1, as OrderController asks for
+    private static final int CUSTOMERS = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long SPAN_SECONDS = 365L * 24 * 3600;
+    private static final long MAX_NANOS_PER_QUERY = 2_000_000_000L;
+    private static final int MAX_RUNS = 500;
+
+    private static final String COLUMNS =
+            "order_id, customer_id, product_id, quantity, total_amount, status, created_at";
+    private static final String NEWEST_FIRST = " order by created_at desc, order_id desc limit " + PAGE;
+    private static final String AFTER_CURSOR = " (created_at, order_id) < (?, ?)";
+
+    private static final String[] INDEXES = {
+            "create index idx_orders_created on orders (created_at desc, order_id desc)",
+            "create index idx_orders_customer_created on orders (customer_id, created_at desc, order_id desc)",
+            "create index idx_orders_status_created on orders (status, created_at desc, order_id desc)"
+    };
+
+    private final Random random = new Random(42);
+
+    public static void main(String[] args) throws SQLException {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "10000,100000,500000").split(","))
+                .mapToInt(Integer::parseInt).sorted().toArray();
+        String url = args.length > 1 ? args[1] : DEFAULT_URL;
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            new OrderQueryBenchmark().run(connection, sizes);
+        }
+    }
+
+    private void run(Connection connection, int[] sizes) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists orders");
+            statement.execute("""
+                    create table orders (
+                        order_id varchar(255) not null, customer_id varchar(255) not null,
+                        product_id varchar(255) not null, quantity integer not null,
+                        price numeric(10, 2) not null, total_amount numeric(10, 2) not null,
+                        created_at timestamp(6) not null, processed_at timestamp(6) not null,
+                        status varchar(255) not null, error_message varchar(255),
+                        primary key (order_id, created_at))""");
+        }
+
+        System.out.printf("%-10s %-22s %12s %12s %12s %12s%n",
+                "rows", "query", "p50 no idx", "p99 no idx", "p50 idx", "p99 idx");
+        int rows = 0;
+        for (int size : sizes) {
+            insert(connection, rows, size);
+            rows = size;
+
+            List<long[]> unindexed = measureAll(connection);
+            setIndexes(connection, true);
+            List<long[]> indexed = measureAll(connection);
+            setIndexes(connection, false);
+
+            String[] names = {"all, any page", "customer, first page", "customer, any page", "status, any page"};
+            for (int i = 0; i < names.length; i++) {
+                System.out.printf("%-10d %-22s %12s %12s %12s %12s%n", size, names[i],
+                        micros(unindexed.get(i)[0]), micros(unindexed.get(i)[1]),
+                        micros(indexed.get(i)[0]), micros(indexed.get(i)[1]));
+            }
+        }
+    }
+
+    private void insert(Connection connection, int from, int to) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into orders (order_id, customer_id, product_id, quantity, price, total_amount, "
+                        + "created_at, processed_at, status) values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                Timestamp createdAt = Timestamp.valueOf(START.plusSeconds(random.nextLong(SPAN_SECONDS)));
+                insert.setString(1, "order-" + i);
+                insert.setString(2, "customer-" + random.nextInt(CUSTOMERS));
+                insert.setString(3, "product-" + random.nextInt(500));
+                insert.setInt(4, 1);
+                insert.setBigDecimal(5, BigDecimal.TEN);
+                insert.setBigDecimal(6, BigDecimal.TEN);
+                insert.setTimestamp(7, createdAt);
+                insert.setTimestamp(8, createdAt);
+                // Roughly the pipeline's outcome mix
+                insert.setString(9, random.nextInt(100) < 85 ? "COMPLETED" : "FAILED");
+                insert.addBatch();
+                if ((i - from) % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private List<long[]> measureAll(Connection connection) throws SQLException {
+        List<long[]> results = new ArrayList<>();
+        results.add(measure(connection, "select " + COLUMNS + " from orders where" + AFTER_CURSOR + NEWEST_FIRST,
+                statement -> bindCursor(statement, 1)));
+        results.add(measure(connection, "select " + COLUMNS + " from orders where customer_id = ?" + NEWEST_FIRST,
+                statement -> statement.setString(1, randomCustomer())));
+        results.add(measure(connection,
+                "select " + COLUMNS + " from orders where customer_id = ? and" + AFTER_CURSOR + NEWEST_FIRST,
+                statement -> {
+                    statement.setString(1, randomCustomer());
+                    bindCursor(statement, 2);
+                }));
+        results.add(measure(connection,
+                "select " + COLUMNS + " from orders where status = ? and" + AFTER_CURSOR + NEWEST_FIRST,
+                statement -> {
+                    statement.setString(1, "FAILED");
+                    bindCursor(statement, 2);
+                }));
+        return results;
+    }
+
+    private String randomCustomer() {
+        return "customer-" + random.nextInt(CUSTOMERS);
+    }
+
+    /** A cursor somewhere in the table, so every run reads a different page. */
+    private void bindCursor(PreparedStatement statement, int index) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(START.plusSeconds(random.nextLong(SPAN_SECONDS)));
+        statement.setTimestamp(index, createdAt);
+        statement.setString(index + 1, "order-0");
+    }
+
+    /** Returns {p50, p99} in nanoseconds, after a short warm-up. */
+    private long[] measure(Connection connection, String sql, Binder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < 5; i++) {
+                binder.bind(statement);
+                drain(statement);
+            }
+            long[] samples = new long[MAX_RUNS];
+            int runs = 0;
+            long deadline = System.nanoTime() + MAX_NANOS_PER_QUERY;
+            while (runs < MAX_RUNS && (runs < 10 || System.nanoTime() < deadline)) {
+                binder.bind(statement);
+                long start = System.nanoTime();
+                drain(statement);
+                samples[runs++] = System.nanoTime() - start;
+            }
+            long[] taken = Arrays.copyOf(samples, runs);
+            Arrays.sort(taken);
+            return new long[]{taken[runs / 2], taken[Math.min(runs - 1, (int) (runs * 0.99))]};
+        }
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getString(1);
+            }
+        }
+    }
+
+    private static void setIndexes(Connection connection, boolean present) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String index : INDEXES) {
+                if (present) {
+                    statement.execute(index);
+                } else {
+                    statement.execute("drop index " + index.split(" ")[2]);
+                }
+            }
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%,d us", nanos / 1000);
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}